@@ -1,11 +1,25 @@
 package pages;
 
 import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import org.openqa.selenium.Cookie;
 import utils.*;
 
@@ -13,8 +27,152 @@ import utils.*;
  * The base class for all page objects
  */
 public class BasePage {
+    // Default readiness contract: the DOM has been parsed
+    private static final ExpectedCondition<Boolean> DOM_PARSED = webDriver ->
+        !"loading".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState"));
+    
+    // Longest in-page wait per script call, kept below the driver's default 30 s script timeout
+    private static final long MAX_SCRIPT_WAIT_MILLIS = 25000;
+    
+    // Event-driven wait: checks the expression once, then again on every DOM mutation and
+    // load/transition/animation/history event, resolving with its value the moment it is truthy.
+    // %s is replaced by the expression; extra script arguments are available as args[0..],
+    // and the JsLocator functions (locateAll, locateFirst, isVisible) can be used.
+    private static final String AWAIT_SCRIPT_TEMPLATE = JsLocator.FUNCTIONS +
+        "var done = arguments[arguments.length - 1];" +
+        "var timeoutMillis = arguments[0];" +
+        "var args = Array.prototype.slice.call(arguments, 1, arguments.length - 1);" +
+        "var check = function() { try { return (%s) || null; } catch (e) { return null; } };" +
+        "var initial = check();" +
+        "if (initial) { done(initial); return; }" +
+        "var events = ['load', 'DOMContentLoaded', 'readystatechange', 'transitionend', 'animationend', 'hashchange', 'popstate'];" +
+        "var finished = false;" +
+        "var observer;" +
+        "var timer;" +
+        "var onEvent = function() { var value = check(); if (value) { finish(value); } };" +
+        "var finish = function(result) {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  observer.disconnect();" +
+        "  clearTimeout(timer);" +
+        "  events.forEach(function(name) { window.removeEventListener(name, onEvent, true); });" +
+        "  done(result);" +
+        "};" +
+        "observer = new MutationObserver(onEvent);" +
+        "observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+        "events.forEach(function(name) { window.addEventListener(name, onEvent, true); });" +
+        "timer = setTimeout(function() { finish(check()); }, timeoutMillis);";
+    
+    // Reads the state of every requested element in one pass; missing elements map to null
+    private static final String SNAPSHOT_SCRIPT = JsLocator.FUNCTIONS +
+        "var specs = arguments[0];" +
+        "var result = {};" +
+        "Object.keys(specs).forEach(function(key) {" +
+        "  var element = locateFirst(specs[key]);" +
+        "  if (!element) { result[key] = null; return; }" +
+        "  var attributes = {};" +
+        "  for (var i = 0; i < element.attributes.length; i++) {" +
+        "    attributes[element.attributes[i].name] = element.attributes[i].value;" +
+        "  }" +
+        "  result[key] = {" +
+        "    displayed: isVisible(element)," +
+        "    selected: !!(element.checked || element.selected)," +
+        "    text: (element.innerText || '').trim()," +
+        "    value: element.value === undefined ? null : String(element.value)," +
+        "    attributes: attributes" +
+        "  };" +
+        "});" +
+        "return result;";
+    
+    // Sets many fields in one pass: text values through the native setter, select options by
+    // value or text, checkboxes/radios by clicking; fires the input/change events the page
+    // listens for. Returns the indexes of the fields that could not be filled.
+    private static final String FILL_SCRIPT = JsLocator.FUNCTIONS +
+        "var fields = arguments[0];" +
+        "var failed = [];" +
+        "var fire = function(element, type) { element.dispatchEvent(new Event(type, {bubbles: true})); };" +
+        "fields.forEach(function(field, index) {" +
+        "  var element = locateFirst(field.spec);" +
+        "  if (!element) { failed.push(index); return; }" +
+        "  var tag = element.tagName.toLowerCase();" +
+        "  var type = (element.type || '').toLowerCase();" +
+        "  if (tag === 'select') {" +
+        "    var option = Array.prototype.find.call(element.options, function(o) { return o.value === field.value; })" +
+        "      || Array.prototype.find.call(element.options, function(o) { return o.text.trim() === field.value; });" +
+        "    if (!option) { failed.push(index); return; }" +
+        "    element.selectedIndex = option.index;" +
+        "    fire(element, 'input');" +
+        "    fire(element, 'change');" +
+        "  } else if (type === 'checkbox' || type === 'radio') {" +
+        "    if (element.checked !== (field.value === 'true')) { element.click(); }" +
+        "  } else {" +
+        "    var proto = tag === 'textarea' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "    Object.getOwnPropertyDescriptor(proto, 'value').set.call(element, field.value);" +
+        "    fire(element, 'input');" +
+        "    fire(element, 'change');" +
+        "  }" +
+        "});" +
+        "return failed;";
+    
+    // Chooses one option of a select by value, visible text or index and reports back the
+    // option that ended up selected, so choosing and confirming is a single round trip
+    private static final String SELECT_OPTION_SCRIPT = JsLocator.FUNCTIONS +
+        "var select = locateFirst(arguments[0]);" +
+        "var by = arguments[1];" +
+        "var wanted = arguments[2];" +
+        "if (!select || !select.options) { return {error: 'select not found'}; }" +
+        "var option = null;" +
+        "if (by === 'index') {" +
+        "  option = select.options[wanted] || null;" +
+        "} else {" +
+        "  option = Array.prototype.find.call(select.options, function(o) {" +
+        "    return by === 'value' ? o.value === wanted : o.text.replace(/\\s+/g, ' ').trim() === wanted;" +
+        "  }) || null;" +
+        "}" +
+        "if (!option) { return {error: 'option not found'}; }" +
+        "if (option.disabled) { return {error: 'option is disabled'}; }" +
+        "if (!option.selected) {" +
+        "  select.selectedIndex = option.index;" +
+        "  select.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "  select.dispatchEvent(new Event('change', {bubbles: true}));" +
+        "}" +
+        "var selected = select.options[select.selectedIndex];" +
+        "return {value: selected.value, text: selected.text.replace(/\\s+/g, ' ').trim(), index: selected.index};";
+    
+    // Replaces the field value as a whole and fires the events typing would have fired
+    private static final String SET_VALUE_SCRIPT =
+        "var element = arguments[0];" +
+        "var proto = element.tagName.toLowerCase() === 'textarea' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "element.focus();" +
+        "Object.getOwnPropertyDescriptor(proto, 'value').set.call(element, arguments[1]);" +
+        "element.dispatchEvent(new Event('input', {bubbles: true}));" +
+        "element.dispatchEvent(new Event('change', {bubbles: true}));";
+    
+    // Sessions that have the DOM and CSS CDP domains enabled (forced hover)
+    private static final Map<WebDriver, Boolean> cssDomainEnabled = new WeakHashMap<>();
+    
+    private static long pageStampCounter = 0;
+    
+    // Script errors of a document unloaded under an async script (Chromium and Firefox wording)
+    private static final Pattern DOCUMENT_UNLOADED = Pattern.compile(
+        "document (was )?unloaded|execution context was destroyed|cannot find context|target navigated",
+        Pattern.CASE_INSENSITIVE);
+    
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected WebDriverWait navigationWait;
+    protected WebDriverWait absenceWait;
+    
+    // Element handles of this page object, dropped on navigation
+    private final Map<By, WebElement> elementCache = new HashMap<>();
+    
+    // Handle cache counters of all page objects, for the suite summary
+    private static final AtomicInteger cacheHits = new AtomicInteger();
+    private static final AtomicInteger cacheMisses = new AtomicInteger();
+    private static final AtomicInteger cacheStale = new AtomicInteger();
+    
+    // Which frame holds which locator on the current page
+    private final FrameIndex frameIndex = new FrameIndex();
     
     /**
      * Constructor
@@ -22,7 +180,37 @@ public class BasePage {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = Waits.forClass(driver, Waits.WaitClass.ELEMENT);
+        this.navigationWait = Waits.forClass(driver, Waits.WaitClass.NAVIGATION);
+        this.absenceWait = Waits.forClass(driver, Waits.WaitClass.ABSENCE);
+    }
+    
+    /**
+     * Readiness contract of the page: a cheap condition that holds as soon as
+     * the elements the tests need are usable. Page objects override this;
+     * the default only waits for the DOM to be parsed.
+     * @return Condition waited on after navigation
+     */
+    protected ExpectedCondition<?> readyCondition() {
+        return DOM_PARSED;
+    }
+    
+    /**
+     * Navigate to URL and wait for the page's readiness contract
+     * @param url Page URL
+     */
+    protected void openUrl(String url) {
+        invalidatePageCaches();
+        driver.get(url);
+        waitUntilReady();
+    }
+    
+    /**
+     * Wait for the page's readiness contract
+     * @throws TimeoutException If the page is not ready in time, so openPage fails fast
+     */
+    protected void waitUntilReady() {
+        navigationWait.until(readyCondition());
     }
     
     /**
@@ -44,14 +232,457 @@ public class BasePage {
     }
     
     /**
-     * Clear and enter text
+     * Run an action on the cached handle of an element, resolving it on the first use.
+     * A stale handle is re-resolved and the action retried once; so is a cached handle
+     * that is not interactable right now, since the resolver waits for that.
+     * @param locator Element locator, the cache key
+     * @param resolver Lookup used on a miss, e.g. this::waitForElementClickable
+     * @param action Action on the element
+     * @return Result of the action
+     */
+    protected <T> T withElement(By locator, Function<By, WebElement> resolver, Function<WebElement, T> action) {
+        WebElement element = elementCache.get(locator);
+        boolean cached = element != null;
+        if (cached) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+            element = resolver.apply(locator);
+            elementCache.put(locator, element);
+        }
+        
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            cacheStale.incrementAndGet();
+        } catch (ElementNotInteractableException e) {
+            if (!cached) {
+                throw e;
+            }
+        }
+        element = resolver.apply(locator);
+        elementCache.put(locator, element);
+        return action.apply(element);
+    }
+    
+    /**
+     * Drop the cached element handles and the frame index; called on every navigation
+     */
+    protected void invalidatePageCaches() {
+        elementCache.clear();
+        frameIndex.invalidate();
+    }
+    
+    /**
+     * Get the element handle cache counters of all page objects so far
+     * @return Hits, misses and stale handles that were re-resolved
+     */
+    public static String getCacheStats() {
+        int hits = cacheHits.get();
+        int lookups = hits + cacheMisses.get();
+        return "Element cache: " + hits + " hits, " + cacheMisses.get() + " misses ("
+             + (lookups == 0 ? 0 : hits * 100 / lookups) + "% hit rate), " + cacheStale.get() + " stale handles re-resolved";
+    }
+    
+    /**
+     * Switch straight to the frame that contains an element. Same-origin frames are
+     * searched in one script call through the frame index; cross-origin frames are only
+     * switched into when the element is not found elsewhere. Results are kept until navigation.
+     * @param locator Element locator
+     * @return Whether a frame (or the top document) containing the element is now selected;
+     *         on false the top document is selected
+     */
+    protected boolean switchToFrameContaining(By locator) {
+        driver.switchTo().defaultContent();
+        Optional<List<Integer>> path = frameIndex.locate(driver, locator);
+        
+        if (!path.isPresent()) {
+            for (List<Integer> opaqueFrame : frameIndex.getOpaqueFrames()) {
+                switchToFramePath(opaqueFrame);
+                boolean found = isPresent(locator);
+                driver.switchTo().defaultContent();
+                if (found) {
+                    path = Optional.of(opaqueFrame);
+                    break;
+                }
+            }
+            frameIndex.remember(locator, path);
+        }
+        
+        if (path.isPresent()) {
+            switchToFramePath(path.get());
+            return true;
+        }
+        return false;
+    }
+    
+    private void switchToFramePath(List<Integer> path) {
+        for (int index : path) {
+            driver.switchTo().frame(index);
+        }
+    }
+    
+    /**
+     * Wait until the first match of every locator is visible, all checked in one in-page wait
+     * @param locators Element locators
+     * @return Elements in locator order
+     * @throws TimeoutException if any locator has no visible match within the element wait
+     */
+    @SuppressWarnings("unchecked")
+    protected List<WebElement> waitForVisibleEach(List<By> locators) {
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By locator : locators) {
+            specs.add(JsLocator.describe(locator));
+        }
+        Object elements = waitForPageValue(
+            "(function(elements) { return elements.every(function(e) { return e && isVisible(e); }) && elements; })"
+            + "(args[0].map(function(spec) { return locateFirst(spec); }))",
+            Waits.timeout(Waits.WaitClass.ELEMENT), specs);
+        if (elements == null) {
+            throw new TimeoutException("Elements not visible: " + locators);
+        }
+        return (List<WebElement>) elements;
+    }
+    
+    /**
+     * Look up an element without waiting and without exceptions for control flow
+     * @param locator Element locator
+     * @return First match, or empty if there is none right now
+     */
+    protected Optional<WebElement> find(By locator) {
+        List<WebElement> matches = findAllNow(locator);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+    
+    /**
+     * Look up the first displayed match without waiting
+     * @param locator Element locator
+     * @return First displayed match, or empty if none is displayed right now
+     */
+    protected Optional<WebElement> findVisible(By locator) {
+        for (WebElement element : findAllNow(locator)) {
+            if (element.isDisplayed()) {
+                return Optional.of(element);
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Check if an element exists right now
+     * @param locator Element locator
+     * @return Whether the element is present
+     */
+    protected boolean isPresent(By locator) {
+        return !findAllNow(locator).isEmpty();
+    }
+    
+    /**
+     * findElements with the implicit wait forced to zero, so a miss returns at once.
+     * The timeout is only toggled when an implicit wait is configured.
+     */
+    private List<WebElement> findAllNow(By locator) {
+        Duration implicitWait = Waits.implicitWait();
+        if (implicitWait.isZero()) {
+            return driver.findElements(locator);
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        try {
+            return driver.findElements(locator);
+        } finally {
+            driver.manage().timeouts().implicitlyWait(implicitWait);
+        }
+    }
+    
+    /**
+     * Wait until a JavaScript condition holds in the page. The condition is re-checked
+     * inside the page on DOM mutations and events, so a wait is a single round trip
+     * instead of a sleep or a 500 ms polling loop. If the page navigates while waiting,
+     * the wait is re-installed on the new document.
+     * @param predicateJs JavaScript expression; extra arguments are available as args[0..]
+     * @param timeout Maximum wait
+     * @param args Extra script arguments
+     * @return Whether the condition held before the timeout
+     */
+    protected boolean waitForPageCondition(String predicateJs, Duration timeout, Object... args) {
+        return waitForPageValue("!!(" + predicateJs + ")", timeout, args) != null;
+    }
+    
+    /**
+     * Wait until a JavaScript expression has a truthy value in the page, event-driven
+     * like waitForPageCondition(), and return that value
+     * @param expressionJs JavaScript expression; extra arguments are available as args[0..]
+     * @param timeout Maximum wait
+     * @param args Extra script arguments
+     * @return Value of the expression, or null if it stayed falsy until the timeout
+     */
+    protected Object waitForPageValue(String expressionJs, Duration timeout, Object... args) {
+        String script = String.format(AWAIT_SCRIPT_TEMPLATE, expressionJs);
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        
+        while (true) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return null;
+            }
+            Object[] scriptArgs = new Object[args.length + 1];
+            scriptArgs[0] = Math.min(remainingMillis, MAX_SCRIPT_WAIT_MILLIS);
+            System.arraycopy(args, 0, scriptArgs, 1, args.length);
+            
+            try {
+                Object value = js.executeAsyncScript(script, scriptArgs);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    return value;
+                }
+            } catch (ScriptTimeoutException e) {
+                // The in-page timer did not answer in time - wait again
+            } catch (JavascriptException e) {
+                // The document was unloaded while waiting (navigation) - wait again on the new document;
+                // any other script error is a bug in the expression
+                if (e.getMessage() == null || !DOCUMENT_UNLOADED.matcher(e.getMessage()).find()) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Result of waiting for one of two page states
+     */
+    public enum StateMatch {
+        /** The first locator became visible first */
+        FIRST,
+        /** The second locator became visible first */
+        SECOND,
+        /** Neither became visible before the timeout */
+        NEITHER
+    }
+    
+    /**
+     * Wait for whichever of two states appears first, e.g. a success marker vs an error
+     * or login form. Both locators are checked in the page in the same event-driven wait,
+     * so a negative outcome costs as little as a positive one instead of a full timeout.
+     * @param first Locator of the first state
+     * @param second Locator of the second state
+     * @param timeout Maximum wait
+     * @return Which state became visible first
+     */
+    protected StateMatch waitForEither(By first, By second, Duration timeout) {
+        Object match = waitForPageValue(
+            "(locateAll(args[0]).some(isVisible) && 'FIRST') || (locateAll(args[1]).some(isVisible) && 'SECOND')",
+            timeout, JsLocator.describe(first), JsLocator.describe(second));
+        return match == null ? StateMatch.NEITHER : StateMatch.valueOf(match.toString());
+    }
+    
+    /**
+     * Perform an action that loads a new document and wait until that document is parsed.
+     * The current document is stamped first, so the wait cannot be satisfied by the old page.
+     * @param action Action that triggers navigation (click, submit, back, refresh...)
+     * @return Whether a new document was loaded before the timeout
+     */
+    protected boolean waitForPageChange(Runnable action) {
+        String stamp = "wd-" + nextPageStamp();
+        ((JavascriptExecutor) driver).executeScript("window.__wdPageStamp = arguments[0];", stamp);
+        invalidatePageCaches();
+        action.run();
+        return waitForPageCondition("window.__wdPageStamp !== args[0] && document.readyState !== 'loading'",
+                                    Waits.timeout(Waits.WaitClass.NAVIGATION), stamp);
+    }
+    
+    /**
+     * Start counting this session's network requests, so requests triggered before
+     * the next waitForNetworkIdle() call are seen. Cheap after the first call per session.
+     */
+    protected void startNetworkTracking() {
+        NetworkTracker.forDriver(driver);
+    }
+    
+    /**
+     * Wait until the page has been network-quiet for the given window, counting in-flight
+     * requests through DevTools Network events (Chromium) or BiDi network events (Firefox).
+     * Without protocol access this falls back to waiting for the load event.
+     * @param quietMillis Required quiet window in milliseconds
+     * @param maxInflight Number of requests allowed to stay pending (long polls, beacons)
+     * @return Whether the network became idle before the timeout
+     */
+    protected boolean waitForNetworkIdle(long quietMillis, int maxInflight) {
+        Optional<NetworkTracker> tracker = NetworkTracker.forDriver(driver);
+        if (tracker.isPresent()) {
+            return tracker.get().awaitIdle(quietMillis, maxInflight, Waits.timeout(Waits.WaitClass.NAVIGATION));
+        }
+        return waitForPageCondition("document.readyState === 'complete'", Waits.timeout(Waits.WaitClass.NAVIGATION));
+    }
+    
+    /**
+     * Run an event-driven wait that replaced a fixed sleep and record it in the WaitReport
+     * @param site Call site name for the report
+     * @param replacedSleepMillis Duration of the fixed sleep that used to be here
+     * @param waitCall The event-driven wait
+     * @return Result of the wait
+     */
+    protected boolean timedWait(String site, long replacedSleepMillis, BooleanSupplier waitCall) {
+        long start = System.nanoTime();
+        boolean result = waitCall.getAsBoolean();
+        WaitReport.record(site, replacedSleepMillis, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+    
+    /**
+     * Capture the selected/displayed/text/value/attribute state of many elements
+     * in a single script call. The result is immutable and is checked locally.
+     * @param locators Element locators by key
+     * @return Snapshot keyed like the locator map
+     */
+    @SuppressWarnings("unchecked")
+    protected PageSnapshot snapshot(Map<String, By> locators) {
+        Map<String, Object> specs = new LinkedHashMap<>();
+        for (Map.Entry<String, By> entry : locators.entrySet()) {
+            specs.put(entry.getKey(), JsLocator.describe(entry.getValue()));
+        }
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, specs);
+        return PageSnapshot.fromScriptResult(result);
+    }
+    
+    /**
+     * Fill many form fields in a single script call instead of a wait, clear and
+     * sendKeys per field. Text fields get their value set directly, selects choose the
+     * option with that value (or visible text), checkboxes and radios are checked for
+     * "true" and unchecked for "false". input/change events are fired like for typing.
+     * @param values Field locators mapped to their values, filled in map order
+     * @return Locators of the fields that could not be filled
+     */
+    @SuppressWarnings("unchecked")
+    protected List<By> fillFields(Map<By, String> values) {
+        List<By> locators = new ArrayList<>(values.keySet());
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (By locator : locators) {
+            Map<String, Object> field = new HashMap<>();
+            field.put("spec", JsLocator.describe(locator));
+            field.put("value", values.get(locator));
+            fields.add(field);
+        }
+        
+        List<Object> failedIndexes = (List<Object>) ((JavascriptExecutor) driver).executeScript(FILL_SCRIPT, fields);
+        List<By> failed = new ArrayList<>();
+        for (Object index : failedIndexes) {
+            failed.add(locators.get(((Number) index).intValue()));
+        }
+        return failed;
+    }
+    
+    /**
+     * Select a dropdown option by value in one script call, independent of the number of options
+     * @param selectLocator Select element locator
+     * @param value Option value
+     * @return Visible text of the option now selected
+     */
+    protected String selectOptionByValue(By selectLocator, String value) {
+        return selectOption(selectLocator, "value", value);
+    }
+    
+    /**
+     * Select a dropdown option by visible text in one script call
+     * @param selectLocator Select element locator
+     * @param text Option text
+     * @return Value of the option now selected
+     */
+    protected String selectOptionByText(By selectLocator, String text) {
+        return selectOption(selectLocator, "text", text);
+    }
+    
+    /**
+     * Select a dropdown option by index in one script call
+     * @param selectLocator Select element locator
+     * @param index Option index
+     * @return Value of the option now selected
+     */
+    protected String selectOptionByIndex(By selectLocator, int index) {
+        return selectOption(selectLocator, "index", index);
+    }
+    
+    /**
+     * Choose an option and confirm the selection in the same script call
+     */
+    @SuppressWarnings("unchecked")
+    private String selectOption(By selectLocator, String by, Object wanted) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+            SELECT_OPTION_SCRIPT, JsLocator.describe(selectLocator), by, wanted);
+        if (result.get("error") != null) {
+            throw new NoSuchElementException("Cannot select option by " + by + " '" + wanted + "' in "
+                                             + selectLocator + ": " + result.get("error"));
+        }
+        
+        boolean confirmed;
+        if ("value".equals(by)) {
+            confirmed = wanted.equals(result.get("value"));
+        } else if ("text".equals(by)) {
+            confirmed = wanted.equals(result.get("text"));
+        } else {
+            confirmed = wanted.equals(((Number) result.get("index")).intValue());
+        }
+        if (!confirmed) {
+            throw new IllegalStateException("Option by " + by + " '" + wanted + "' was not selected in "
+                                            + selectLocator + ", selected: " + result);
+        }
+        return "value".equals(by) ? (String) result.get("text") : (String) result.get("value");
+    }
+    
+    private static synchronized long nextPageStamp() {
+        return ++pageStampCounter;
+    }
+    
+    /**
+     * Clear and enter text; long text is inserted in bulk instead of typed (see TextEntry)
      * @param locator Element locator
      * @param text Text to input
      */
     protected void enterText(By locator, String text) {
-        WebElement element = waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        enterText(locator, text, TextEntry.forLength(text.length()));
+    }
+    
+    /**
+     * Clear and enter text with the given strategy
+     * @param locator Element locator
+     * @param text Text to input
+     * @param strategy Text entry strategy
+     */
+    protected void enterText(By locator, String text, TextEntry.Strategy strategy) {
+        withElement(locator, this::waitForElementVisible, element -> {
+            enterText(element, text, strategy);
+            return null;
+        });
+    }
+    
+    /**
+     * Clear and enter text into an already located element with the given strategy
+     * @param element Input or textarea
+     * @param text Text to input
+     * @param strategy Text entry strategy
+     */
+    protected void enterText(WebElement element, String text, TextEntry.Strategy strategy) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        switch (strategy) {
+            case INSERT_TEXT:
+                if (driver instanceof ChromiumDriver) {
+                    // Select the old content so the insert replaces it, then insert in one protocol call
+                    js.executeScript("arguments[0].focus(); arguments[0].select();", element);
+                    ((ChromiumDriver) driver).executeCdpCommand("Input.insertText",
+                                                                Collections.singletonMap("text", text));
+                    break;
+                }
+                // Without CDP the value-set path is the bulk alternative
+                js.executeScript(SET_VALUE_SCRIPT, element, text);
+                break;
+            case SET_VALUE:
+                js.executeScript(SET_VALUE_SCRIPT, element, text);
+                break;
+            case KEYSTROKES:
+            default:
+                element.clear();
+                element.sendKeys(text);
+                break;
+        }
     }
     
     /**
@@ -59,7 +690,10 @@ public class BasePage {
      * @param locator Element locator
      */
     protected void clickElement(By locator) {
-        waitForElementClickable(locator).click();
+        withElement(locator, this::waitForElementClickable, element -> {
+            element.click();
+            return null;
+        });
     }
     
     /**
@@ -68,7 +702,7 @@ public class BasePage {
      * @return Element text
      */
     protected String getElementText(By locator) {
-        return waitForElementVisible(locator).getText();
+        return withElement(locator, this::waitForElementVisible, WebElement::getText);
     }
     
     /**
@@ -92,7 +726,7 @@ public class BasePage {
      * @param urlFragment URL fragment
      */
     protected void waitForUrlContains(String urlFragment) {
-        wait.until(ExpectedConditions.urlContains(urlFragment));
+        navigationWait.until(ExpectedConditions.urlContains(urlFragment));
     }
     
     /**
@@ -100,7 +734,7 @@ public class BasePage {
      * @param locator Element locator
      */
     protected void jsClick(By locator) {
-        WebElement element = driver.findElement(locator);
+        WebElement element = find(locator).orElseThrow(() -> new NoSuchElementException("Element not found: " + locator));
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("arguments[0].click();", element);
     }
@@ -127,10 +761,94 @@ public class BasePage {
         actions.moveToElement(element).perform();
     }
 
+    /**
+     * Put an element into the :hover state without moving the pointer. On Chromium the
+     * pseudo-state is forced through CDP CSS.forcePseudoState, which triggers CSS :hover
+     * rules; mouseover/mouseenter listeners still need a synthetic event (see HoverPage).
+     * The state lasts until clearHoverState.
+     * @param element Element to hover
+     * @return Whether the pseudo-state was forced (false without CDP)
+     */
+    protected boolean forceHoverState(WebElement element) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return false;
+        }
+        ChromiumDriver chromium = (ChromiumDriver) driver;
+        
+        // Tag the element so CDP can find its node by selector
+        String token = "wd-hover-" + nextPageStamp();
+        ((JavascriptExecutor) driver).executeScript("arguments[0].setAttribute('data-wd-hover', arguments[1]);",
+                                                    element, token);
+        try {
+            enableCssDomain(chromium);
+            setForcedPseudoClasses(chromium, token, Collections.singletonList("hover"));
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Could not force :hover through CDP: " + e.getMessage());
+            ((JavascriptExecutor) driver).executeScript("arguments[0].removeAttribute('data-wd-hover');", element);
+            return false;
+        }
+    }
+    
+    /**
+     * End a hover state forced with forceHoverState: the forced :hover and the element's tag
+     * are removed. Does nothing for an element without a forced state.
+     * @param element Element passed to forceHoverState
+     */
+    protected void clearHoverState(WebElement element) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        try {
+            String token = (String) ((JavascriptExecutor) driver).executeScript(
+                "return arguments[0].getAttribute('data-wd-hover');", element);
+            if (token == null) {
+                return;
+            }
+            try {
+                setForcedPseudoClasses((ChromiumDriver) driver, token, Collections.emptyList());
+            } finally {
+                ((JavascriptExecutor) driver).executeScript("arguments[0].removeAttribute('data-wd-hover');", element);
+            }
+        } catch (RuntimeException e) {
+            // A stale element went with its document, and its forced state with it
+            System.err.println("Could not clear forced :hover: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * CSS.forcePseudoState on the element tagged with token
+     */
+    @SuppressWarnings("unchecked")
+    private static void setForcedPseudoClasses(ChromiumDriver chromium, String token, List<String> pseudoClasses) {
+        Map<String, Object> document = (Map<String, Object>) chromium.executeCdpCommand(
+            "DOM.getDocument", Collections.singletonMap("depth", 0)).get("root");
+        Map<String, Object> query = new HashMap<>();
+        query.put("nodeId", document.get("nodeId"));
+        query.put("selector", "[data-wd-hover='" + token + "']");
+        Object nodeId = chromium.executeCdpCommand("DOM.querySelector", query).get("nodeId");
+        
+        Map<String, Object> force = new HashMap<>();
+        force.put("nodeId", nodeId);
+        force.put("forcedPseudoClasses", pseudoClasses);
+        chromium.executeCdpCommand("CSS.forcePseudoState", force);
+    }
+    
+    private static void enableCssDomain(ChromiumDriver chromium) {
+        synchronized (cssDomainEnabled) {
+            if (!cssDomainEnabled.containsKey(chromium)) {
+                chromium.executeCdpCommand("DOM.enable", Collections.emptyMap());
+                chromium.executeCdpCommand("CSS.enable", Collections.emptyMap());
+                cssDomainEnabled.put(chromium, Boolean.TRUE);
+            }
+        }
+    }
+
     /**
      * Browser back
      */
     protected void browserBack() {
+        invalidatePageCaches();
         driver.navigate().back();
     }
 
@@ -138,6 +856,7 @@ public class BasePage {
      * Browser forward
      */
     protected void browserForward() {
+        invalidatePageCaches();
         driver.navigate().forward();
     }
 
@@ -145,6 +864,7 @@ public class BasePage {
      * Refresh page
      */
     protected void refreshPage() {
+        invalidatePageCaches();
         driver.navigate().refresh();
     }
 
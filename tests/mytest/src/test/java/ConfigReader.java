@@ -3,6 +3,7 @@ package utils;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Properties;
+import org.openqa.selenium.PageLoadStrategy;
 
 /**
  * Configuration reader for test properties
@@ -69,6 +70,38 @@ public class ConfigReader {
         }
     }
     
+    /**
+     * Get navigation wait timeout in seconds (page loads and readiness contracts)
+     * @return Navigation wait timeout, defaults to the explicit wait
+     */
+    public int getNavigationWait() {
+        return getIntProperty("navigationWait", getExplicitWait());
+    }
+    
+    /**
+     * Get absence wait timeout in seconds (confirming an element is not there)
+     * @return Absence wait timeout
+     */
+    public int getAbsenceWait() {
+        return getIntProperty("absenceWait", 2);
+    }
+    
+    /**
+     * Get first poll interval of explicit waits in milliseconds
+     * @return Initial poll interval
+     */
+    public int getPollInitialMillis() {
+        return getIntProperty("pollInitialMillis", 10);
+    }
+    
+    /**
+     * Get poll interval ceiling of explicit waits in milliseconds
+     * @return Maximum poll interval
+     */
+    public int getPollMaxMillis() {
+        return getIntProperty("pollMaxMillis", 500);
+    }
+    
     /**
      * Get test username
      * @return Test username
@@ -92,4 +125,115 @@ public class ConfigReader {
     public boolean isHeadless() {
         return "true".equalsIgnoreCase(properties.getProperty("headless", "false"));
     }
+    
+    /**
+     * Get browser profile from configuration
+     * @return Browser profile (default, perf)
+     */
+    public String getBrowserProfile() {
+        return properties.getProperty("browserProfile", "default").trim();
+    }
+    
+    /**
+     * Check if the lean perf browser profile is selected
+     * @return True if the perf profile is selected
+     */
+    public boolean isPerfProfile() {
+        return "perf".equalsIgnoreCase(getBrowserProfile());
+    }
+    
+    /**
+     * Get page load strategy from configuration
+     * @return Page load strategy (normal, eager, none)
+     */
+    public PageLoadStrategy getPageLoadStrategy() {
+        String value = properties.getProperty("pageLoadStrategy", "normal").trim();
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value);
+        if (strategy == null) {
+            System.err.println("Invalid pageLoadStrategy value in config, using default: normal");
+            return PageLoadStrategy.NORMAL;
+        }
+        return strategy;
+    }
+    
+    /**
+     * Check if sessions share one long-lived driver service
+     * @return True if the driver service is shared
+     */
+    public boolean isSharedDriverService() {
+        return !"false".equalsIgnoreCase(properties.getProperty("sharedDriverService", "true"));
+    }
+    
+    /**
+     * Get maximum number of pooled browser sessions
+     * @return Maximum pool size
+     */
+    public int getPoolMaxSize() {
+        return getIntProperty("pool.maxSize", 1);
+    }
+    
+    /**
+     * Get number of leases after which a pooled session is recycled
+     * @return Maximum reuse count
+     */
+    public int getPoolMaxReuse() {
+        return getIntProperty("pool.maxReuse", 20);
+    }
+    
+    /**
+     * Get age in seconds after which a pooled session is recycled
+     * @return Maximum session age in seconds
+     */
+    public int getPoolMaxAgeSeconds() {
+        return getIntProperty("pool.maxAgeSeconds", 600);
+    }
+    
+    /**
+     * Get the longest text entered as real keystrokes; longer text is inserted in bulk
+     * @return Length threshold in characters
+     */
+    public int getTextEntryKeystrokeMaxLength() {
+        return getIntProperty("textEntry.keystrokeMaxLength", 256);
+    }
+    
+    /**
+     * Get how long a stored login session may be reused
+     * @return Session TTL in minutes
+     */
+    public int getSessionTtlMinutes() {
+        return getIntProperty("session.ttlMinutes", 30);
+    }
+    
+    /**
+     * Get number of tests DependencyRunner runs at the same time; the scheduler.workers
+     * system property overrides the configured value
+     * @return Worker count
+     */
+    public int getSchedulerWorkers() {
+        String override = System.getProperty("scheduler.workers");
+        if (override != null) {
+            try {
+                return Integer.parseInt(override.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid scheduler.workers system property, using config value");
+            }
+        }
+        return getIntProperty("scheduler.workers", 1);
+    }
+    
+    /**
+     * Read an integer property, falling back to the default on bad values
+     */
+    private int getIntProperty(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid " + key + " value in config, using default: " + defaultValue);
+            return defaultValue;
+        }
+    }
 }
\ No newline at end of file
@@ -2,8 +2,16 @@ package utils;
 
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Cookie Management Utility Class
@@ -57,11 +65,91 @@ public class CookieManager {
         System.out.println("Deleted All Cookies");
     }
     
+    /**
+     * Set many Cookies at once. On Chromium this is one CDP Network.setCookies call;
+     * elsewhere the Cookies are added one at a time for the current domain.
+     * Cookies without a domain are set for the current page; a domain without a leading
+     * dot is set host-only, as CDP reports host-only Cookies.
+     * @param cookies Cookies to set
+     */
+    public void setAll(Collection<Cookie> cookies) {
+        if (cookies.isEmpty()) {
+            return;
+        }
+        if (driver instanceof ChromiumDriver) {
+            String currentUrl = null;
+            List<Map<String, Object>> params = new ArrayList<>();
+            for (Cookie cookie : cookies) {
+                Map<String, Object> param = toCookieParam(cookie);
+                if (cookie.getDomain() == null) {
+                    currentUrl = currentUrl == null ? driver.getCurrentUrl() : currentUrl;
+                    param.put("url", currentUrl);
+                } else if (!cookie.getDomain().startsWith(".")) {
+                    // A domain parameter would widen the Cookie to subdomains
+                    param.remove("domain");
+                    param.put("url", (cookie.isSecure() ? "https://" : "http://") + cookie.getDomain() + "/");
+                }
+                params.add(param);
+            }
+            ((ChromiumDriver) driver).executeCdpCommand("Network.setCookies", Collections.singletonMap("cookies", params));
+        } else {
+            for (Cookie cookie : cookies) {
+                driver.manage().addCookie(cookie);
+            }
+        }
+        System.out.println("Set " + cookies.size() + " Cookies");
+    }
+    
+    /**
+     * Capture all Cookies in one call: every domain through CDP Network.getAllCookies
+     * on Chromium, the current domain elsewhere
+     * @return Unmodifiable list of Cookies
+     */
+    @SuppressWarnings("unchecked")
+    public List<Cookie> snapshot() {
+        List<Cookie> cookies = new ArrayList<>();
+        if (driver instanceof ChromiumDriver) {
+            Map<String, Object> result = ((ChromiumDriver) driver).executeCdpCommand("Network.getAllCookies", Collections.emptyMap());
+            for (Object cookie : (List<Object>) result.get("cookies")) {
+                cookies.add(fromCdpCookie((Map<String, Object>) cookie));
+            }
+        } else {
+            cookies.addAll(driver.manage().getCookies());
+        }
+        return Collections.unmodifiableList(cookies);
+    }
+    
+    /**
+     * Put a snapshot back: delete the current domain's Cookies, then one bulk set.
+     * Cookies of other domains are left alone, apart from being reset to their snapshot values.
+     * @param snapshot Cookies captured with snapshot()
+     */
+    public void restore(Collection<Cookie> snapshot) {
+        driver.manage().deleteAllCookies();
+        setAll(snapshot);
+        System.out.println("Restored " + snapshot.size() + " Cookies");
+    }
+    
+    /**
+     * Find a Cookie value in a snapshot, without a round trip
+     * @param cookies Cookies from snapshot()
+     * @param name Cookie name
+     * @return Cookie value, returns null if it doesn't exist
+     */
+    public static String valueOf(Collection<Cookie> cookies, String name) {
+        for (Cookie cookie : cookies) {
+            if (cookie.getName().equals(name)) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+    
     /**
      * Print all Cookies
      */
     public void printAllCookies() {
-        Set<Cookie> cookies = driver.manage().getCookies();
+        List<Cookie> cookies = snapshot();
         System.out.println("Currently have " + cookies.size() + " Cookies:");
         for (Cookie cookie : cookies) {
             System.out.println("  " + cookie.getName() + ": " + cookie.getValue());
@@ -73,8 +161,43 @@ public class CookieManager {
      */
     public void addConsentCookie() {
         // Adjust Cookie name and value according to actual website
-        addCookie("cookieconsent_status", "dismiss");
-        addCookie("consent", "accepted");
+        setAll(Arrays.asList(new Cookie("cookieconsent_status", "dismiss"), new Cookie("consent", "accepted")));
         System.out.println("Added Cookie to disable consent popup");
     }
+    
+    private static Map<String, Object> toCookieParam(Cookie cookie) {
+        Map<String, Object> param = new HashMap<>();
+        param.put("name", cookie.getName());
+        param.put("value", cookie.getValue());
+        if (cookie.getDomain() != null) {
+            param.put("domain", cookie.getDomain());
+        }
+        param.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+        param.put("secure", cookie.isSecure());
+        param.put("httpOnly", cookie.isHttpOnly());
+        if (cookie.getSameSite() != null) {
+            param.put("sameSite", cookie.getSameSite());
+        }
+        if (cookie.getExpiry() != null) {
+            param.put("expires", cookie.getExpiry().getTime() / 1000.0);
+        }
+        return param;
+    }
+    
+    private static Cookie fromCdpCookie(Map<String, Object> cdpCookie) {
+        Cookie.Builder builder = new Cookie.Builder((String) cdpCookie.get("name"), (String) cdpCookie.get("value"))
+            .domain((String) cdpCookie.get("domain"))
+            .path((String) cdpCookie.get("path"))
+            .isSecure(Boolean.TRUE.equals(cdpCookie.get("secure")))
+            .isHttpOnly(Boolean.TRUE.equals(cdpCookie.get("httpOnly")));
+        if (cdpCookie.get("sameSite") != null) {
+            builder.sameSite((String) cdpCookie.get("sameSite"));
+        }
+        // Session cookies have no expiry (CDP reports -1)
+        Object expires = cdpCookie.get("expires");
+        if (!Boolean.TRUE.equals(cdpCookie.get("session")) && expires instanceof Number && ((Number) expires).doubleValue() > 0) {
+            builder.expiresOn(new Date((long) (((Number) expires).doubleValue() * 1000)));
+        }
+        return builder.build();
+    }
 }
\ No newline at end of file
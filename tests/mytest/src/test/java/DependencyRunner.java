@@ -0,0 +1,460 @@
+package utils;
+
+import org.junit.AssumptionViolatedException;
+import org.junit.Test;
+import org.junit.internal.runners.model.EachTestNotifier;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * JUnit runner that schedules test methods by their @DependsOn declarations.
+ * A test starts once all its prerequisites passed, so dependency chains run in order;
+ * independent tests run concurrently on scheduler.workers threads (one browser session each).
+ * When a prerequisite fails, is skipped or is not part of the run, its dependents are
+ * reported as skipped right away.
+ * <p>
+ * Ready tests that failed recently start first, then those heading the longest remaining
+ * chain by expected duration (TestHistory), so slow tests and chains do not finish last.
+ * With shard.index/shard.count set, dependency chains and independent tests are split
+ * across test forks by TestShards; shard 1 also carries the classes other runners run.
+ */
+public class DependencyRunner extends BlockJUnit4ClassRunner {
+    // Expected duration of a test when no test of the class has history yet
+    private static final long DEFAULT_EXPECTED_MILLIS = 1000;
+
+    // Recently failed first, then longest remaining chain, then run order
+    private static final Comparator<ScheduledTest> PRIORITY =
+        Comparator.comparing((ScheduledTest test) -> !test.recentlyFailed)
+            .thenComparing(Comparator.comparingLong((ScheduledTest test) -> test.criticalPathMillis).reversed())
+            .thenComparingInt(test -> test.order);
+
+    private final Object lock = new Object();
+
+    /**
+     * Constructor
+     * @param testClass Test class
+     */
+    public DependencyRunner(Class<?> testClass) throws InitializationError {
+        super(testClass);
+    }
+
+    /**
+     * Unknown prerequisites and dependency cycles fail the class before anything runs
+     */
+    @Override
+    protected void collectInitializationErrors(List<Throwable> errors) {
+        super.collectInitializationErrors(errors);
+
+        Map<String, FrameworkMethod> methods = new HashMap<>();
+        for (FrameworkMethod method : getTestClass().getAnnotatedMethods(Test.class)) {
+            methods.put(method.getName(), method);
+        }
+        for (FrameworkMethod method : methods.values()) {
+            for (String prerequisite : prerequisites(method)) {
+                if (!methods.containsKey(prerequisite)) {
+                    errors.add(new Exception("Method " + method.getName() + " depends on unknown test " + prerequisite));
+                }
+            }
+        }
+        Set<String> visited = new HashSet<>();
+        for (String name : methods.keySet()) {
+            findCycle(name, methods, visited, new ArrayList<>(), errors);
+        }
+    }
+
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                runScheduled(notifier);
+            }
+        };
+    }
+
+    /**
+     * Number of tests running at the same time
+     */
+    protected int workers() {
+        return Math.max(1, new ConfigReader().getSchedulerWorkers());
+    }
+
+    private void runScheduled(RunNotifier notifier) throws Throwable {
+        // Children left after filtering, in run order
+        Map<Description, FrameworkMethod> byDescription = new HashMap<>();
+        for (FrameworkMethod method : getChildren()) {
+            byDescription.put(describeChild(method), method);
+        }
+        Map<String, ScheduledTest> tests = new LinkedHashMap<>();
+        for (Description description : getDescription().getChildren()) {
+            FrameworkMethod method = byDescription.get(description);
+            if (method != null) {
+                tests.put(method.getName(), new ScheduledTest(method, tests.size()));
+            }
+        }
+        tests = selectShard(tests);
+        if (tests.isEmpty()) {
+            return;
+        }
+
+        List<ScheduledTest> ready = new ArrayList<>();
+        List<ScheduledTest> unrunnable = new ArrayList<>();
+        for (ScheduledTest test : tests.values()) {
+            for (String prerequisite : prerequisites(test.method)) {
+                ScheduledTest required = tests.get(prerequisite);
+                if (required == null) {
+                    test.missingPrerequisite = prerequisite;
+                } else {
+                    required.dependents.add(test);
+                    test.pendingPrerequisites++;
+                }
+            }
+        }
+        for (ScheduledTest test : tests.values()) {
+            test.criticalPathMillis = criticalPathMillis(test);
+            if (test.missingPrerequisite != null) {
+                unrunnable.add(test);
+            } else if (test.pendingPrerequisites == 0) {
+                ready.add(test);
+            }
+        }
+
+        int workers = Math.min(workers(), tests.size());
+        System.out.println("Scheduling " + tests.size() + " tests on " + workers + " worker(s)");
+        new Schedule(workers, tests.size(), notifier).run(unrunnable, ready);
+    }
+
+    /**
+     * Attach expected durations and keep this shard's part: tests linked by @DependsOn
+     * stay together, so every chain runs in one fork
+     */
+    private Map<String, ScheduledTest> selectShard(Map<String, ScheduledTest> tests) {
+        TestHistory history = TestHistory.get();
+        long knownTotal = 0;
+        int knownCount = 0;
+        for (ScheduledTest test : tests.values()) {
+            test.recentlyFailed = history.recentlyFailed(testId(test.method));
+            test.expectedMillis = history.expectedMillis(testId(test.method)).orElse(-1);
+            if (test.expectedMillis >= 0) {
+                knownTotal += test.expectedMillis;
+                knownCount++;
+            }
+        }
+        // Tests without history are expected to take as long as an average test
+        long unknownMillis = knownCount == 0 ? DEFAULT_EXPECTED_MILLIS : knownTotal / knownCount;
+        for (ScheduledTest test : tests.values()) {
+            if (test.expectedMillis < 0) {
+                test.expectedMillis = unknownMillis;
+            }
+        }
+        if (!TestShards.isSharded()) {
+            return tests;
+        }
+
+        Map<String, List<ScheduledTest>> linked = new HashMap<>();
+        for (ScheduledTest test : tests.values()) {
+            for (String prerequisite : prerequisites(test.method)) {
+                if (tests.containsKey(prerequisite)) {
+                    linked.computeIfAbsent(test.method.getName(), name -> new ArrayList<>()).add(tests.get(prerequisite));
+                    linked.computeIfAbsent(prerequisite, name -> new ArrayList<>()).add(test);
+                }
+            }
+        }
+        List<List<ScheduledTest>> units = new ArrayList<>();
+        Set<ScheduledTest> assigned = new HashSet<>();
+        for (ScheduledTest test : tests.values()) {
+            if (!assigned.add(test)) {
+                continue;
+            }
+            List<ScheduledTest> unit = new ArrayList<>();
+            Deque<ScheduledTest> pending = new ArrayDeque<>(Collections.singleton(test));
+            while (!pending.isEmpty()) {
+                ScheduledTest member = pending.poll();
+                unit.add(member);
+                for (ScheduledTest neighbour : linked.getOrDefault(member.method.getName(), Collections.emptyList())) {
+                    if (assigned.add(neighbour)) {
+                        pending.add(neighbour);
+                    }
+                }
+            }
+            units.add(unit);
+        }
+
+        Set<ScheduledTest> selected = new HashSet<>();
+        for (List<ScheduledTest> unit : TestShards.select(units,
+                 unit -> unit.stream().mapToLong(test -> test.expectedMillis).sum(),
+                 unit -> unit.get(0).method.getName(),
+                 unsplitClassesMillis(history))) {
+            selected.addAll(unit);
+        }
+        // Keep run order
+        Map<String, ScheduledTest> shard = new LinkedHashMap<>();
+        for (ScheduledTest test : tests.values()) {
+            if (selected.contains(test)) {
+                shard.put(test.method.getName(), test);
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * One scheduled run: worker threads, the count of unfinished tests and the first
+     * throwable that escaped a worker (e.g. StoppedByUserException after pleaseStop())
+     */
+    private class Schedule {
+        private final ThreadPoolExecutor executor;
+        private final RunNotifier notifier;
+        private final CountDownLatch remaining;
+        private final AtomicReference<Throwable> abortCause = new AtomicReference<>();
+
+        Schedule(int workers, int testCount, RunNotifier notifier) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                runnable -> new Thread(runnable, "test-worker-" + threadNumber.incrementAndGet()));
+            this.notifier = notifier;
+            this.remaining = new CountDownLatch(testCount);
+        }
+
+        /**
+         * Skip the unrunnable tests, start the ready ones and wait for all tests;
+         * rethrows what aborted a worker
+         */
+        void run(List<ScheduledTest> unrunnable, List<ScheduledTest> ready) throws Throwable {
+            try {
+                synchronized (lock) {
+                    for (ScheduledTest test : unrunnable) {
+                        skip(test, "prerequisite " + test.missingPrerequisite + " is not part of this run");
+                    }
+                    startAll(ready);
+                }
+                remaining.await();
+            } finally {
+                executor.shutdownNow();
+            }
+            if (abortCause.get() != null) {
+                throw abortCause.get();
+            }
+        }
+
+        /**
+         * Dispatch in priority order: the first tasks go straight to idle workers and
+         * bypass the queue's ordering
+         */
+        private void startAll(List<ScheduledTest> tests) {
+            List<ScheduledTest> sorted = new ArrayList<>(tests);
+            sorted.sort(PRIORITY);
+            for (ScheduledTest test : sorted) {
+                start(test);
+            }
+        }
+
+        private void start(ScheduledTest test) {
+            test.scheduled = true;
+            executor.execute(new PrioritizedRun(test, () -> {
+                try {
+                    boolean passed = runTest(test.method, notifier);
+                    synchronized (lock) {
+                        List<ScheduledTest> nowReady = new ArrayList<>();
+                        for (ScheduledTest dependent : test.dependents) {
+                            if (dependent.scheduled) {
+                                continue;
+                            }
+                            if (!passed) {
+                                skip(dependent, "prerequisite " + test.method.getName() + " did not pass");
+                            } else if (--dependent.pendingPrerequisites == 0) {
+                                nowReady.add(dependent);
+                            }
+                        }
+                        startAll(nowReady);
+                    }
+                } catch (Throwable e) {
+                    abort(e);
+                } finally {
+                    remaining.countDown();
+                }
+            }));
+        }
+
+        /**
+         * Report a test as skipped, and its dependents with it
+         */
+        private void skip(ScheduledTest test, String reason) {
+            if (test.scheduled) {
+                return;
+            }
+            test.scheduled = true;
+            try {
+                EachTestNotifier eachNotifier = new EachTestNotifier(notifier, describeChild(test.method));
+                eachNotifier.fireTestStarted();
+                eachNotifier.addFailedAssumption(new AssumptionViolatedException("Skipped: " + reason));
+                eachNotifier.fireTestFinished();
+                System.out.println("Skipped " + test.method.getName() + ": " + reason);
+            } finally {
+                remaining.countDown();
+            }
+            for (ScheduledTest dependent : test.dependents) {
+                skip(dependent, "prerequisite " + test.method.getName() + " was skipped");
+            }
+        }
+
+        /**
+         * Stop scheduling: tests that never started will not count down, so release the
+         * runner thread, which rethrows the cause
+         */
+        private void abort(Throwable cause) {
+            if (abortCause.compareAndSet(null, cause)) {
+                executor.shutdownNow();
+            }
+            while (remaining.getCount() > 0) {
+                remaining.countDown();
+            }
+        }
+    }
+
+    /**
+     * Run one test like ParentRunner.runLeaf does, reporting whether it passed
+     */
+    private boolean runTest(FrameworkMethod method, RunNotifier notifier) {
+        Description description = describeChild(method);
+        if (isIgnored(method)) {
+            notifier.fireTestIgnored(description);
+            return false;
+        }
+        EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+        eachNotifier.fireTestStarted();
+        try {
+            methodBlock(method).evaluate();
+            return true;
+        } catch (org.junit.internal.AssumptionViolatedException e) {
+            eachNotifier.addFailedAssumption(e);
+            return false;
+        } catch (Throwable e) {
+            eachNotifier.addFailure(e);
+            return false;
+        } finally {
+            eachNotifier.fireTestFinished();
+        }
+    }
+
+    /**
+     * Expected duration of the classes the shard tasks run whole in shard 1: every class
+     * with history that is not run by DependencyRunner (see build.gradle)
+     */
+    private static long unsplitClassesMillis(TestHistory history) {
+        long total = 0;
+        for (String className : history.getClassNames()) {
+            try {
+                RunWith runWith = Class.forName(className, false, DependencyRunner.class.getClassLoader())
+                    .getAnnotation(RunWith.class);
+                if (runWith == null || !DependencyRunner.class.isAssignableFrom(runWith.value())) {
+                    total += history.expectedClassMillis(className);
+                }
+            } catch (ClassNotFoundException e) {
+                // Removed since it was recorded
+            }
+        }
+        return total;
+    }
+
+    private String testId(FrameworkMethod method) {
+        return getTestClass().getName() + "#" + method.getName();
+    }
+
+    /**
+     * Expected duration of the longest dependency chain starting at this test
+     */
+    private static long criticalPathMillis(ScheduledTest test) {
+        long longest = 0;
+        for (ScheduledTest dependent : test.dependents) {
+            longest = Math.max(longest, criticalPathMillis(dependent));
+        }
+        return test.expectedMillis + longest;
+    }
+
+    private static void findCycle(String name, Map<String, FrameworkMethod> methods, Set<String> visited,
+                                  List<String> path, List<Throwable> errors) {
+        if (path.contains(name)) {
+            errors.add(new Exception("Dependency cycle: " + String.join(" -> ", path) + " -> " + name));
+            return;
+        }
+        if (!methods.containsKey(name) || !visited.add(name)) {
+            return;
+        }
+        path.add(name);
+        for (String prerequisite : prerequisites(methods.get(name))) {
+            findCycle(prerequisite, methods, visited, path, errors);
+        }
+        path.remove(path.size() - 1);
+    }
+
+    private static String[] prerequisites(FrameworkMethod method) {
+        DependsOn dependsOn = method.getAnnotation(DependsOn.class);
+        return dependsOn == null ? new String[0] : dependsOn.value();
+    }
+
+    /**
+     * Scheduling state of one test method; guarded by the runner's lock
+     */
+    private static class ScheduledTest {
+        private final FrameworkMethod method;
+        private final int order;
+        private final List<ScheduledTest> dependents = new ArrayList<>();
+        private int pendingPrerequisites = 0;
+        private long expectedMillis;
+        private long criticalPathMillis;
+        private boolean recentlyFailed;
+        private String missingPrerequisite;
+        private boolean scheduled = false;
+
+        ScheduledTest(FrameworkMethod method, int order) {
+            this.method = method;
+            this.order = order;
+        }
+    }
+
+    /**
+     * Queued test run, ordered by PRIORITY
+     */
+    private static class PrioritizedRun implements Runnable, Comparable<PrioritizedRun> {
+        private final ScheduledTest test;
+        private final Runnable run;
+
+        PrioritizedRun(ScheduledTest test, Runnable run) {
+            this.test = test;
+            this.run = run;
+        }
+
+        @Override
+        public void run() {
+            run.run();
+        }
+
+        @Override
+        public int compareTo(PrioritizedRun other) {
+            return PRIORITY.compare(test, other.test);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the test methods a test needs to have passed first (see DependencyRunner).
+ * The test starts only after all of them passed and is skipped as soon as one did not.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DependsOn {
+    /**
+     * @return Names of prerequisite test methods in the same class
+     */
+    String[] value();
+}
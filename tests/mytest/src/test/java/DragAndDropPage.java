@@ -2,7 +2,15 @@ package pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.PinnedScript;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Drag and Drop Page Object
@@ -24,6 +32,37 @@ public class DragAndDropPage extends BasePage {
     // Verification elements
     private By perfectButtonLocator = By.xpath("//div[@id='equal']/a");
     
+    // HTML5 drag simulator for [source, target, source, target, ...]; sent once per session
+    private static final PinnedScript DRAG_AND_DROP_SIMULATOR = new PinnedScript("simulateDragAndDrop",
+        "function(elements) {" +
+        "  function createEvent(typeOfEvent) {" +
+        "    var event = document.createEvent('CustomEvent');" +
+        "    event.initCustomEvent(typeOfEvent, true, true, null);" +
+        "    event.dataTransfer = {" +
+        "      data: {}," +
+        "      setData: function(key, value) { this.data[key] = value; }," +
+        "      getData: function(key) { return this.data[key]; }" +
+        "    };" +
+        "    return event;" +
+        "  }" +
+        "  function dispatchEvent(element, event, transferData) {" +
+        "    if (transferData !== undefined) { event.dataTransfer = transferData; }" +
+        "    if (element.dispatchEvent) {" +
+        "      element.dispatchEvent(event);" +
+        "    } else if (element.fireEvent) {" +
+        "      element.fireEvent('on' + event.type, event);" +
+        "    }" +
+        "  }" +
+        "  for (var i = 0; i < elements.length; i += 2) {" +
+        "    var dragStartEvent = createEvent('dragstart');" +
+        "    dispatchEvent(elements[i], dragStartEvent);" +
+        "    var dropEvent = createEvent('drop');" +
+        "    dispatchEvent(elements[i + 1], dropEvent, dragStartEvent.dataTransfer);" +
+        "    var dragEndEvent = createEvent('dragend');" +
+        "    dispatchEvent(elements[i], dragEndEvent, dropEvent.dataTransfer);" +
+        "  }" +
+        "}");
+    
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -32,12 +71,22 @@ public class DragAndDropPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the draggable blocks and the last drop zone are visible
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.and(
+            ExpectedConditions.visibilityOfElementLocated(bankButtonLocator),
+            ExpectedConditions.visibilityOfElementLocated(amountCreditDropLocator));
+    }
+    
     /**
      * Open drag and drop demo page
      * @return Current page object instance, supports method chaining
      */
     public DragAndDropPage openPage() {
-        driver.get(pageUrl);
+        openUrl(pageUrl);
         System.out.println("Opened drag and drop demo page: " + pageUrl);
         return this;
     }
@@ -46,88 +95,158 @@ public class DragAndDropPage extends BasePage {
      * Perform drag and drop operation
      * @param source Source element locator
      * @param target Target element locator
-     * @return Current page object instance, supports method chaining
      */
     public void dragAndDrop(By source, By target) {
+        dragAndDropAll(Collections.singletonList(new DragMove(source, target)));
+    }
+    
+    /**
+     * Perform several drag and drop moves as one W3C Actions sequence, sent in one request.
+     * If the sequence fails, the moves it did not apply are replayed one by one with the
+     * pinned JavaScript drag simulator.
+     * @param moves Moves in order
+     */
+    public void dragAndDropAll(List<DragMove> moves) {
+        List<By> locators = new ArrayList<>();
+        for (DragMove move : moves) {
+            locators.add(move.source);
+            locators.add(move.target);
+        }
+        
+        List<WebElement> elements;
+        PageSnapshot targetsBefore;
+        try {
+            // Every source and target visible, in one wait
+            elements = waitForVisibleEach(locators);
+            targetsBefore = snapshotTargets(moves);
+        } catch (TimeoutException e) {
+            System.err.println("Drag and drop operation failed: " + e.getMessage());
+            return;
+        }
+        
         try {
-            WebElement sourceElement = waitForElementVisible(source);
-            WebElement targetElement = waitForElementVisible(target);
-            
             Actions actions = new Actions(driver);
-            actions.dragAndDrop(sourceElement, targetElement).perform();
-            
-            System.out.println("Performed drag and drop operation: from " + source + " to " + target);
+            for (int i = 0; i < elements.size(); i += 2) {
+                actions.clickAndHold(elements.get(i)).moveToElement(elements.get(i + 1)).release(elements.get(i + 1));
+            }
+            actions.perform();
+            System.out.println("Performed " + moves.size() + " drag and drop operations: " + moves);
+            return;
         } catch (Exception e) {
             System.err.println("Drag and drop operation failed: " + e.getMessage());
-            
-            // Try using JavaScript method to perform drag and drop
+        }
+        
+        // The sequence may have failed partway: a move whose drop zone changed was applied already
+        PageSnapshot targetsAfter = snapshotTargets(moves);
+        for (int i = 0; i < moves.size(); i++) {
+            DragMove move = moves.get(i);
+            String key = "target" + i;
+            if (!targetsBefore.get(key).getText().equals(targetsAfter.get(key).getText())) {
+                System.out.println("Drag and drop already applied: " + move);
+                continue;
+            }
+            // Fresh handles: earlier drops may have re-rendered the page
             try {
-                WebElement sourceElement = driver.findElement(source);
-                WebElement targetElement = driver.findElement(target);
-                
-                String js = "function createEvent(typeOfEvent) {\n" +
-                        "    var event = document.createEvent(\"CustomEvent\");\n" +
-                        "    event.initCustomEvent(typeOfEvent, true, true, null);\n" +
-                        "    event.dataTransfer = {\n" +
-                        "        data: {},\n" +
-                        "        setData: function(key, value) {\n" +
-                        "            this.data[key] = value;\n" +
-                        "        },\n" +
-                        "        getData: function(key) {\n" +
-                        "            return this.data[key];\n" +
-                        "        }\n" +
-                        "    };\n" +
-                        "    return event;\n" +
-                        "}\n" +
-                        "\n" +
-                        "function dispatchEvent(element, event, transferData) {\n" +
-                        "    if (transferData !== undefined) {\n" +
-                        "        event.dataTransfer = transferData;\n" +
-                        "    }\n" +
-                        "    if (element.dispatchEvent) {\n" +
-                        "        element.dispatchEvent(event);\n" +
-                        "    } else if (element.fireEvent) {\n" +
-                        "        element.fireEvent(\"on\" + event.type, event);\n" +
-                        "    }\n" +
-                        "}\n" +
-                        "\n" +
-                        "function simulateHTML5DragAndDrop(element, target) {\n" +
-                        "    var dragStartEvent = createEvent('dragstart');\n" +
-                        "    dispatchEvent(element, dragStartEvent);\n" +
-                        "    var dropEvent = createEvent('drop');\n" +
-                        "    dispatchEvent(target, dropEvent, dragStartEvent.dataTransfer);\n" +
-                        "    var dragEndEvent = createEvent('dragend');\n" +
-                        "    dispatchEvent(element, dragEndEvent, dropEvent.dataTransfer);\n" +
-                        "}\n" +
-                        "\n" +
-                        "var source = arguments[0];\n" +
-                        "var target = arguments[1];\n" +
-                        "simulateHTML5DragAndDrop(source, target);";
-                
-                JavascriptExecutor executor = (JavascriptExecutor) driver;
-                executor.executeScript(js, sourceElement, targetElement);
-                System.out.println("Performed drag and drop operation using JavaScript");
+                DRAG_AND_DROP_SIMULATOR.call(driver, waitForVisibleEach(Arrays.asList(move.source, move.target)));
+                System.out.println("Performed drag and drop using JavaScript: " + move);
             } catch (Exception ex) {
-                System.err.println("JavaScript drag and drop also failed: " + ex.getMessage());
+                System.err.println("JavaScript drag and drop also failed: " + move + ": " + ex.getMessage());
             }
         }
     }
     
+    /**
+     * Drop zone of every move (keys target0, target1, ...) in one call
+     */
+    private PageSnapshot snapshotTargets(List<DragMove> moves) {
+        Map<String, By> targets = new LinkedHashMap<>();
+        for (int i = 0; i < moves.size(); i++) {
+            targets.put("target" + i, moves.get(i).target);
+        }
+        return snapshot(targets);
+    }
+    
     /**
      * Complete all drag and drop operations
      */
     public void completeAllDragAndDrop() {
-        // Drag Bank to account column
-        dragAndDrop(bankButtonLocator, bankAccountDropLocator);
+        dragAndDropAll(Arrays.asList(
+            // Drag Bank to account column
+            new DragMove(bankButtonLocator, bankAccountDropLocator),
+            // Drag 5000 to debit amount column
+            new DragMove(amount5000Locator, amountDebitDropLocator),
+            // Drag Sales to credit account column
+            new DragMove(salesButtonLocator, salesAccountDropLocator),
+            // Drag 5000 to credit amount column
+            new DragMove(amount5000Locator, amountCreditDropLocator)));
+    }
+    
+    /**
+     * One drag and drop move
+     */
+    public static final class DragMove {
+        private final By source;
+        private final By target;
+        
+        public DragMove(By source, By target) {
+            this.source = source;
+            this.target = target;
+        }
         
-        // Drag 5000 to debit amount column
-        dragAndDrop(amount5000Locator, amountDebitDropLocator);
+        @Override
+        public String toString() {
+            return source + " -> " + target;
+        }
+    }
+    
+    /**
+     * Capture the drop zones and the completion button in one call
+     * @return Drag and drop snapshot for local assertions
+     */
+    public DragAndDropSnapshot getSnapshot() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("bankAccount", bankAccountDropLocator);
+        locators.put("salesAccount", salesAccountDropLocator);
+        locators.put("debitAmount", amountDebitDropLocator);
+        locators.put("creditAmount", amountCreditDropLocator);
+        locators.put("perfect", perfectButtonLocator);
+        return new DragAndDropSnapshot(snapshot(locators));
+    }
+    
+    /**
+     * Drag and drop page state at snapshot time
+     */
+    public static final class DragAndDropSnapshot {
+        private final PageSnapshot snapshot;
         
-        // Drag Sales to credit account column
-        dragAndDrop(salesButtonLocator, salesAccountDropLocator);
+        private DragAndDropSnapshot(PageSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
         
-        // Drag 5000 to credit amount column
-        dragAndDrop(amount5000Locator, amountCreditDropLocator);
+        public String getBankAccountText() {
+            return snapshot.get("bankAccount").getText();
+        }
+        
+        public String getSalesAccountText() {
+            return snapshot.get("salesAccount").getText();
+        }
+        
+        public String getDebitAmountText() {
+            return snapshot.get("debitAmount").getText();
+        }
+        
+        public String getCreditAmountText() {
+            return snapshot.get("creditAmount").getText();
+        }
+        
+        public boolean isPerfectButtonDisplayed() {
+            return snapshot.get("perfect").isDisplayed();
+        }
+        
+        @Override
+        public String toString() {
+            return snapshot.toString();
+        }
     }
     
     /**
@@ -135,10 +254,6 @@ public class DragAndDropPage extends BasePage {
      * @return Whether the completion button is displayed
      */
     public boolean isPerfectButtonDisplayed() {
-        try {
-            return driver.findElement(perfectButtonLocator).isDisplayed();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return findVisible(perfectButtonLocator).isPresent();
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves driver binaries once per JVM and remembers them in a local manifest
+ * (browser version -> driver path), so later runs need no WebDriverManager lookup
+ * and no network access.
+ */
+public class DriverBinaryResolver {
+    private static final String MANIFEST_FILE = ".driver-cache" + File.separator + "driver-manifest.properties";
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(\\.\\d+)+)");
+    private static final Map<String, String> resolvedPaths = new HashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve chromedriver and register it with Selenium
+     * @return Path of the chromedriver binary, or null when WebDriverManager reported none
+     */
+    public static String resolveChromeDriver() {
+        return resolve("chrome", ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY, WebDriverManager::chromedriver);
+    }
+
+    /**
+     * Resolve geckodriver and register it with Selenium
+     * @return Path of the geckodriver binary, or null when WebDriverManager reported none
+     */
+    public static String resolveGeckoDriver() {
+        return resolve("firefox", GeckoDriverService.GECKO_DRIVER_EXE_PROPERTY, WebDriverManager::firefoxdriver);
+    }
+
+    private static synchronized String resolve(String browser, String driverProperty,
+                                               Supplier<WebDriverManager> managerSupplier) {
+        String driverPath = resolvedPaths.get(browser);
+        if (driverPath != null) {
+            return driverPath;
+        }
+
+        long start = System.nanoTime();
+        WebDriverManager manager = managerSupplier.get();
+        String key = browser + "." + detectBrowserVersion(manager);
+        Properties manifest = loadManifest();
+        driverPath = manifest.getProperty(key);
+
+        String source;
+        if (driverPath != null && new File(driverPath).canExecute()) {
+            source = "manifest";
+        } else {
+            // Manifest miss: let WebDriverManager resolve (may use the network) and remember the result
+            manager.setup();
+            // No downloaded path (e.g. a driver found on the PATH): use the driver property WebDriverManager configured
+            driverPath = manager.getDownloadedDriverPath();
+            if (driverPath == null) {
+                driverPath = System.getProperty(driverProperty);
+            }
+            if (driverPath == null) {
+                // Nothing to remember; resolve again next time
+                System.out.println("Resolved " + browser + " driver from WebDriverManager without a driver path");
+                return null;
+            }
+            if (new File(driverPath).canExecute()) {
+                manifest.setProperty(key, driverPath);
+                saveManifest(manifest);
+            }
+            source = "WebDriverManager";
+        }
+
+        System.setProperty(driverProperty, driverPath);
+        resolvedPaths.put(browser, driverPath);
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println("Resolved " + browser + " driver from " + source + " in " + elapsedMillis + " ms: " + driverPath);
+        return driverPath;
+    }
+
+    /**
+     * Detect the installed browser version locally by asking the browser binary.
+     * Returns "unknown" when the browser cannot report its version (e.g. chrome.exe on Windows);
+     * in that case delete the manifest after a browser upgrade.
+     */
+    private static String detectBrowserVersion(WebDriverManager manager) {
+        try {
+            Optional<Path> browserPath = manager.getBrowserPath();
+            if (!browserPath.isPresent()) {
+                return "unknown";
+            }
+
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                .redirectErrorStream(true)
+                .start();
+            String output;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                output = reader.readLine();
+            }
+            if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+
+            if (output != null) {
+                Matcher matcher = VERSION_PATTERN.matcher(output);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to detect browser version: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    private static Properties loadManifest() {
+        Properties manifest = new Properties();
+        File file = new File(MANIFEST_FILE);
+        if (file.exists()) {
+            try (FileInputStream fis = new FileInputStream(file)) {
+                manifest.load(fis);
+            } catch (IOException e) {
+                System.err.println("Failed to read driver manifest: " + e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static void saveManifest(Properties manifest) {
+        File file = new File(MANIFEST_FILE);
+        file.getParentFile().mkdirs();
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            manifest.store(fos, "Resolved driver binaries (browser.version=driver path)");
+        } catch (IOException e) {
+            System.err.println("Failed to write driver manifest: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable browser sessions.
+ * Tests lease a ready session, the pool resets it on release and
+ * recycles it once it has been reused or kept alive for too long.
+ */
+public class DriverPool {
+    private final Supplier<WebDriver> driverSupplier;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration maxAge;
+    private final Semaphore permits;
+    private final Deque<PooledSession> idleSessions = new ArrayDeque<>();
+    private final Map<WebDriver, PooledSession> leasedSessions = new IdentityHashMap<>();
+    private boolean shutdown = false;
+
+    // Counters
+    private final AtomicInteger leaseCount = new AtomicInteger();
+    private final AtomicInteger createCount = new AtomicInteger();
+    private final AtomicInteger resetCount = new AtomicInteger();
+    private final AtomicInteger recycleCount = new AtomicInteger();
+
+    /**
+     * Constructor
+     * @param driverSupplier Creates a new browser session when the pool needs one
+     * @param maxSize Maximum number of live sessions
+     * @param maxReuse Number of leases after which a session is recycled
+     * @param maxAge Age after which a session is recycled
+     */
+    public DriverPool(Supplier<WebDriver> driverSupplier, int maxSize, int maxReuse, Duration maxAge) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.driverSupplier = driverSupplier;
+        this.maxSize = maxSize;
+        this.maxReuse = Math.max(1, maxReuse);
+        this.maxAge = maxAge;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Constructor - reads pool limits from configuration
+     * @param driverSupplier Creates a new browser session when the pool needs one
+     * @param config Configuration reader instance
+     */
+    public DriverPool(Supplier<WebDriver> driverSupplier, ConfigReader config) {
+        this(driverSupplier, config.getPoolMaxSize(), config.getPoolMaxReuse(),
+             Duration.ofSeconds(config.getPoolMaxAgeSeconds()));
+    }
+
+    /**
+     * Lease a healthy session, blocking while all sessions are in use
+     * @return Ready WebDriver instance
+     */
+    public WebDriver lease() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+
+        try {
+            while (true) {
+                PooledSession session = pollIdle();
+                if (session == null) {
+                    session = new PooledSession(driverSupplier.get());
+                    createCount.incrementAndGet();
+                    System.out.println("Driver pool created new session (" + createCount.get() + " total)");
+                } else if (isExpired(session)) {
+                    recycle(session, "expired after " + session.uses + " uses");
+                    continue;
+                } else if (!isHealthy(session)) {
+                    recycle(session, "failed health check");
+                    continue;
+                }
+
+                session.uses++;
+                synchronized (this) {
+                    leasedSessions.put(session.driver, session);
+                }
+                leaseCount.incrementAndGet();
+                return session.driver;
+            }
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Reset a leased session and return it to the pool
+     * @param driver WebDriver previously obtained from lease()
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+
+        PooledSession session;
+        synchronized (this) {
+            session = leasedSessions.remove(driver);
+        }
+        if (session == null) {
+            System.err.println("Driver pool: release of unknown session ignored");
+            return;
+        }
+
+        try {
+            if (isExpired(session)) {
+                recycle(session, "expired after " + session.uses + " uses");
+            } else if (reset(session)) {
+                synchronized (this) {
+                    if (shutdown) {
+                        quietQuit(session.driver);
+                    } else {
+                        idleSessions.push(session);
+                    }
+                }
+            } else {
+                recycle(session, "reset failed");
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quit every session owned by the pool
+     */
+    public void shutdown() {
+        List<PooledSession> sessions;
+        synchronized (this) {
+            shutdown = true;
+            sessions = new ArrayList<>(idleSessions);
+            sessions.addAll(leasedSessions.values());
+            idleSessions.clear();
+            leasedSessions.clear();
+        }
+        for (PooledSession session : sessions) {
+            quietQuit(session.driver);
+        }
+        System.out.println("Driver pool shut down. " + getStats());
+    }
+
+    /**
+     * Get pool counters
+     * @return Human readable counter summary
+     */
+    public String getStats() {
+        return "leases=" + leaseCount.get()
+             + ", created=" + createCount.get()
+             + ", resets=" + resetCount.get()
+             + ", recycles=" + recycleCount.get()
+             + ", maxSize=" + maxSize;
+    }
+
+    public int getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    public int getCreateCount() {
+        return createCount.get();
+    }
+
+    public int getResetCount() {
+        return resetCount.get();
+    }
+
+    public int getRecycleCount() {
+        return recycleCount.get();
+    }
+
+    private synchronized PooledSession pollIdle() {
+        if (shutdown) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        return idleSessions.poll();
+    }
+
+    private boolean isExpired(PooledSession session) {
+        return session.uses >= maxReuse
+            || Duration.between(session.createdAt, Instant.now()).compareTo(maxAge) >= 0;
+    }
+
+    /**
+     * Health check - a dead browser or driver process fails this round trip
+     */
+    private boolean isHealthy(PooledSession session) {
+        try {
+            return session.driver.getWindowHandle() != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bring the session back to a blank state: one tab, no cookies, no storage, about:blank
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            driver.switchTo().defaultContent();
+
+            // Close any tabs or popups the test opened
+            Set<String> handles = driver.getWindowHandles();
+            if (handles.size() > 1) {
+                String mainHandle = handles.iterator().next();
+                for (String handle : handles) {
+                    if (!handle.equals(mainHandle)) {
+                        driver.switchTo().window(handle).close();
+                    }
+                }
+                driver.switchTo().window(mainHandle);
+            }
+
+            // Storage belongs to the current origin, so clear it before leaving the page
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+
+            resetCount.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Driver pool failed to reset session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void recycle(PooledSession session, String reason) {
+        quietQuit(session.driver);
+        recycleCount.incrementAndGet();
+        System.out.println("Driver pool recycled session: " + reason);
+    }
+
+    private void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Driver pool failed to quit session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Session owned by the pool
+     */
+    private static class PooledSession {
+        private final WebDriver driver;
+        private final Instant createdAt = Instant.now();
+        private int uses = 0;
+
+        PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
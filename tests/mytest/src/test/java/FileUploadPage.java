@@ -18,11 +18,21 @@ public class FileUploadPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the file input is visible and the submit button is in the DOM
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.and(
+            ExpectedConditions.visibilityOfElementLocated(fileInputLocator),
+            ExpectedConditions.presenceOfElementLocated(submitButtonLocator));
+    }
+    
     /**
      * Open file upload page
      */
     public FileUploadPage openPage() {
-        driver.get("https://demo.guru99.com/test/upload/");
+        openUrl("https://demo.guru99.com/test/upload/");
         System.out.println("Opened file upload test page");
         return this;
     }
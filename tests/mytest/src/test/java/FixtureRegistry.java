@@ -0,0 +1,50 @@
+package utils;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe store for data one test produces and its dependents consume,
+ * e.g. the account registered by a registration test
+ */
+public class FixtureRegistry {
+    private final Map<String, Object> fixtures = new ConcurrentHashMap<>();
+
+    /**
+     * Publish a fixture, replacing any earlier value
+     * @param key Fixture name
+     * @param value Fixture value
+     */
+    public void put(String key, Object value) {
+        fixtures.put(key, value);
+    }
+
+    /**
+     * Look up a fixture
+     * @param key Fixture name
+     * @param type Expected type
+     * @return Fixture, or empty when it was not published
+     */
+    public <T> Optional<T> get(String key, Class<T> type) {
+        return Optional.ofNullable(fixtures.get(key)).map(type::cast);
+    }
+
+    /**
+     * Look up a fixture a prerequisite must have published
+     * @param key Fixture name
+     * @param type Expected type
+     * @return Fixture
+     */
+    public <T> T require(String key, Class<T> type) {
+        return get(key, type).orElseThrow(() -> new IllegalStateException("Fixture not available: " + key));
+    }
+
+    /**
+     * Remove a fixture
+     * @param key Fixture name
+     */
+    public void remove(String key) {
+        fixtures.remove(key);
+    }
+}
@@ -0,0 +1,103 @@
+import org.junit.*;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import org.openqa.selenium.*;
+
+import pages.*;
+import utils.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Combinatorial form test: every radio button (3) x checkbox state (2^3) combination,
+ * all in one page load. The form is restored in-page between combinations and each
+ * combination is verified with one snapshot call.
+ */
+@RunWith(Parameterized.class)
+public class FormCombinationTests {
+    private static WebDriver driver;
+    private static FormPage formPage;
+    private static FormPage.FormSelection initialSelection;
+    private static long suiteStartNanos;
+    private static int combinationsRun = 0;
+
+    private final int radio;
+    private final boolean[] checkboxes;
+
+    @Parameters(name = "radio {0}, checkboxes {1}{2}{3}")
+    public static Collection<Object[]> combinations() {
+        Collection<Object[]> combinations = new ArrayList<>();
+        for (int radio = 1; radio <= 3; radio++) {
+            for (int mask = 0; mask < 8; mask++) {
+                combinations.add(new Object[] {radio, bit(mask, 0), bit(mask, 1), bit(mask, 2)});
+            }
+        }
+        return combinations;
+    }
+
+    public FormCombinationTests(int radio, int checkbox1, int checkbox2, int checkbox3) {
+        this.radio = radio;
+        this.checkboxes = new boolean[] {checkbox1 == 1, checkbox2 == 1, checkbox3 == 1};
+    }
+
+    @BeforeClass
+    public static void setUpClass() {
+        ConfigReader config = new ConfigReader();
+        Waits.configure(config);
+        WebDriverFactory.setSharedDriverService(config.isSharedDriverService());
+        WebDriverFactory.setPageLoadStrategy(config.getPageLoadStrategy());
+
+        driver = Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config));
+        formPage = new FormPage(driver);
+
+        // The only page load of the suite; its initial state is restored between combinations
+        formPage.openPage();
+        initialSelection = formPage.getSelectionSnapshot();
+
+        // Only the in-page combinations are timed, not the browser startup and page load
+        suiteStartNanos = System.nanoTime();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        long totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - suiteStartNanos);
+        if (driver != null) {
+            driver.quit();
+        }
+        System.out.println("Form combinations: " + combinationsRun + " attempted in " + totalMillis
+                           + " ms on one page load (" + (combinationsRun == 0 ? 0 : totalMillis / combinationsRun)
+                           + " ms per combination)");
+    }
+
+    @Test
+    public void testCombination() {
+        // Counted when attempted, so failed combinations are part of the timing too
+        combinationsRun++;
+        formPage.restoreSelection(initialSelection);
+
+        formPage.selectRadioButton(radio);
+        for (int i = 0; i < 3; i++) {
+            formPage.toggleCheckbox(i + 1, checkboxes[i]);
+        }
+
+        // Verify the whole form with one snapshot call
+        FormPage.FormSelection selection = formPage.getSelectionSnapshot();
+        for (int option = 1; option <= 3; option++) {
+            assertEquals("Radio button " + option + " selection", option == radio,
+                         selection.isRadioButtonSelected(option));
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Checkbox " + (i + 1) + " selection", checkboxes[i],
+                         selection.isCheckboxSelected(i + 1));
+        }
+    }
+
+    private static int bit(int mask, int index) {
+        return (mask >> index) & 1;
+    }
+}
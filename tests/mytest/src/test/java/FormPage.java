@@ -3,6 +3,13 @@ package pages;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import utils.JsLocator;
 /**
  * Radio Button & Checkbox Demo Page Object Class
  */
@@ -26,11 +33,21 @@ public class FormPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the last radio button and checkbox are visible
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.and(
+            ExpectedConditions.visibilityOfElementLocated(radioOption3Locator),
+            ExpectedConditions.visibilityOfElementLocated(checkbox3Locator));
+    }
+    
     /**
      * Open form page
      */
     public FormPage openPage() {
-        driver.get("https://demo.guru99.com/test/radio.html");
+        openUrl("https://demo.guru99.com/test/radio.html");
         System.out.println("Opened radio button and checkbox test page");
         return this;
     }
@@ -56,10 +73,12 @@ public class FormPage extends BasePage {
         }
         
         try {
-            WebElement radioButton = waitForElementClickable(locator);
-            if (!radioButton.isSelected()) {
-                radioButton.click();
-            }
+            withElement(locator, this::waitForElementClickable, radioButton -> {
+                if (!radioButton.isSelected()) {
+                    radioButton.click();
+                }
+                return null;
+            });
             System.out.println("Selected option " + option);
         } catch (Exception e) {
             System.out.println("Failed to select radio button: " + e.getMessage());
@@ -89,11 +108,13 @@ public class FormPage extends BasePage {
         }
         
         try {
-            WebElement checkbox = waitForElementClickable(locator);
-            // Only click if current state is different from target state
-            if ((check && !checkbox.isSelected()) || (!check && checkbox.isSelected())) {
-                checkbox.click();
-            }
+            withElement(locator, this::waitForElementClickable, checkbox -> {
+                // Only click if current state is different from target state
+                if ((check && !checkbox.isSelected()) || (!check && checkbox.isSelected())) {
+                    checkbox.click();
+                }
+                return null;
+            });
             System.out.println((check ? "Checked" : "Unchecked") + " checkbox " + checkboxNumber);
         } catch (Exception e) {
             System.out.println("Failed to operate checkbox: " + e.getMessage());
@@ -121,12 +142,12 @@ public class FormPage extends BasePage {
                 throw new IllegalArgumentException("Invalid option number: " + option);
         }
         
-        try {
-            return driver.findElement(locator).isSelected();
-        } catch (NoSuchElementException e) {
-            System.out.println("Radio button not found: " + e.getMessage());
+        Optional<WebElement> radioButton = find(locator);
+        if (!radioButton.isPresent()) {
+            System.out.println("Radio button not found: " + locator);
             return false;
         }
+        return radioButton.get().isSelected();
     }
     
     /**
@@ -149,12 +170,97 @@ public class FormPage extends BasePage {
                 throw new IllegalArgumentException("Invalid checkbox number: " + checkboxNumber);
         }
         
-        try {
-            return driver.findElement(locator).isSelected();
-        } catch (NoSuchElementException e) {
-            System.out.println("Checkbox not found: " + e.getMessage());
+        Optional<WebElement> checkbox = find(locator);
+        if (!checkbox.isPresent()) {
+            System.out.println("Checkbox not found: " + locator);
             return false;
         }
+        return checkbox.get().isSelected();
+    }
+
+    /**
+     * Capture the state of all radio buttons and checkboxes in one call
+     * @return Selection snapshot for local assertions
+     */
+    public FormSelection getSelectionSnapshot() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("radio1", radioOption1Locator);
+        locators.put("radio2", radioOption2Locator);
+        locators.put("radio3", radioOption3Locator);
+        locators.put("checkbox1", checkbox1Locator);
+        locators.put("checkbox2", checkbox2Locator);
+        locators.put("checkbox3", checkbox3Locator);
+        return new FormSelection(snapshot(locators));
+    }
+    
+    /**
+     * Restore a captured selection in-page, without reloading: all radio buttons and
+     * checkboxes are set in one script call, firing change events for changed controls
+     * @param selection Selection captured with getSelectionSnapshot()
+     */
+    public FormPage restoreSelection(FormSelection selection) {
+        List<Map<String, Object>> controls = new ArrayList<>();
+        By[] radios = {radioOption1Locator, radioOption2Locator, radioOption3Locator};
+        By[] checkboxes = {checkbox1Locator, checkbox2Locator, checkbox3Locator};
+        for (int i = 0; i < 3; i++) {
+            controls.add(controlState(radios[i], selection.isRadioButtonSelected(i + 1)));
+            controls.add(controlState(checkboxes[i], selection.isCheckboxSelected(i + 1)));
+        }
+        
+        ((JavascriptExecutor) driver).executeScript(JsLocator.FUNCTIONS +
+            "arguments[0].forEach(function(control) {" +
+            "  var element = locateFirst(control.spec);" +
+            "  if (element && element.checked !== control.checked) {" +
+            "    element.checked = control.checked;" +
+            "    element.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  }" +
+            "});", controls);
+        return this;
+    }
+    
+    private static Map<String, Object> controlState(By locator, boolean checked) {
+        Map<String, Object> control = new HashMap<>();
+        control.put("spec", JsLocator.describe(locator));
+        control.put("checked", checked);
+        return control;
+    }
+    
+    /**
+     * Radio button and checkbox selection at snapshot time
+     */
+    public static final class FormSelection {
+        private final PageSnapshot snapshot;
+        
+        private FormSelection(PageSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+        
+        /**
+         * Check if radio button was selected
+         * @param option Option number (1, 2, or 3)
+         */
+        public boolean isRadioButtonSelected(int option) {
+            if (option < 1 || option > 3) {
+                throw new IllegalArgumentException("Invalid option number: " + option);
+            }
+            return snapshot.get("radio" + option).isSelected();
+        }
+        
+        /**
+         * Check if checkbox was selected
+         * @param checkboxNumber Checkbox number (1, 2, or 3)
+         */
+        public boolean isCheckboxSelected(int checkboxNumber) {
+            if (checkboxNumber < 1 || checkboxNumber > 3) {
+                throw new IllegalArgumentException("Invalid checkbox number: " + checkboxNumber);
+            }
+            return snapshot.get("checkbox" + checkboxNumber).isSelected();
+        }
+        
+        @Override
+        public String toString() {
+            return snapshot.toString();
+        }
     }
 
     /**
@@ -167,9 +273,10 @@ public class FormPage extends BasePage {
             waitForElementVisible(navbarLocator);
             
             // 查找并点击下拉菜单
-            WebElement dropdown = driver.findElement(
-                By.xpath("//a[contains(text(),'" + menuName + "') and contains(@class,'dropdown-toggle')]")
-            );
+            By dropdownLocator = By.xpath("//a[contains(text(),'" + menuName + "') and contains(@class,'dropdown-toggle')]");
+            if (!isPresent(dropdownLocator)) {
+                throw new NoSuchElementException("Dropdown menu not found: " + menuName);
+            }
             jsClick(By.xpath("//a[contains(text(),'" + menuName + "')]"));
             System.out.println("Clicked dropdown menu: " + menuName);
         } catch (Exception e) {
@@ -185,10 +292,8 @@ public class FormPage extends BasePage {
      */
     public boolean isDropdownExpanded(String menuName) {
         try {
-            WebElement dropdownParent = driver.findElement(
-                By.xpath("//a[contains(text(),'" + menuName + "')]/parent::li")
-            );
-            boolean isExpanded = dropdownParent.getAttribute("class").contains("open");
+            Optional<WebElement> dropdownParent = find(By.xpath("//a[contains(text(),'" + menuName + "')]/parent::li"));
+            boolean isExpanded = dropdownParent.isPresent() && dropdownParent.get().getAttribute("class").contains("open");
             System.out.println("Dropdown menu " + menuName + " expanded: " + isExpanded);
             return isExpanded;
         } catch (Exception e) {
@@ -197,6 +302,18 @@ public class FormPage extends BasePage {
         }
     }
 
+    /**
+     * 等待下拉菜单展开动画完成
+     * @param menuName 菜单名称
+     * @return 是否已展开
+     */
+    public boolean waitForDropdownExpanded(String menuName) {
+        return timedWait("FormPage.waitForDropdownExpanded", 1000, () -> waitForPageCondition(
+            "Array.prototype.some.call(document.querySelectorAll('li.open > a'), function(a) {" +
+            "  return a.textContent.indexOf(args[0]) >= 0;" +
+            "})", Duration.ofSeconds(2), menuName));
+    }
+
     /**
      * 选择下拉菜单选项
      * @param optionText 选项文本
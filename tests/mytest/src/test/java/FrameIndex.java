@@ -0,0 +1,108 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.JsLocator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Frame tree of the current page, built in one script call from the top document.
+ * Same-origin frames are searched in the same call; only cross-origin frames, which a
+ * script cannot look into, need a frame switch. Found frame paths (frame indexes from
+ * the top document, as used by switchTo().frame(int)) are remembered per locator until
+ * the page object navigates.
+ */
+class FrameIndex {
+    // Searches the top document and all same-origin frames for arguments[0];
+    // returns the frame path of the first match and the paths of cross-origin frames
+    private static final String SEARCH_SCRIPT = JsLocator.FUNCTIONS +
+        "var spec = arguments[0];" +
+        "var opaque = [];" +
+        "var frameCount = 0;" +
+        "function search(win, path) {" +
+        "  var doc;" +
+        "  try { doc = win.document; doc.documentElement; } catch (e) { opaque.push(path); return null; }" +
+        "  var found = locateAll(spec, doc).length > 0 ? path : null;" +
+        "  for (var i = 0; i < win.frames.length; i++) {" +
+        "    frameCount++;" +
+        "    var inFrame = search(win.frames[i], path.concat([i]));" +
+        "    found = found || inFrame;" +
+        "  }" +
+        "  return found;" +
+        "}" +
+        "var found = search(window, []);" +
+        "return {found: found, opaque: opaque, frameCount: frameCount};";
+
+    private final Map<By, Optional<List<Integer>>> framePaths = new HashMap<>();
+    private List<List<Integer>> opaqueFrames;
+
+    /**
+     * Find the frame containing a locator. The driver must be in the top document.
+     * @param driver WebDriver instance
+     * @param locator Element locator
+     * @return Frame path (empty list for the top document), or empty if no frame contains it
+     */
+    @SuppressWarnings("unchecked")
+    Optional<List<Integer>> locate(WebDriver driver, By locator) {
+        Optional<List<Integer>> cached = framePaths.get(locator);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+            SEARCH_SCRIPT, JsLocator.describe(locator));
+        if (opaqueFrames == null) {
+            opaqueFrames = new ArrayList<>();
+            for (Object path : (List<Object>) result.get("opaque")) {
+                opaqueFrames.add(toPath(path));
+            }
+            System.out.println("Indexed " + result.get("frameCount") + " frames, "
+                               + opaqueFrames.size() + " cross-origin");
+        }
+
+        Optional<List<Integer>> path = result.get("found") == null
+            ? Optional.empty() : Optional.of(toPath(result.get("found")));
+        framePaths.put(locator, path);
+        return path;
+    }
+
+    /**
+     * Remember the result of searching cross-origin frames by switching into them
+     * @param locator Element locator
+     * @param path Frame path, or empty if not found
+     */
+    void remember(By locator, Optional<List<Integer>> path) {
+        framePaths.put(locator, path);
+    }
+
+    /**
+     * Get the cross-origin frames of the indexed page
+     * @return Frame paths, empty before the first locate()
+     */
+    List<List<Integer>> getOpaqueFrames() {
+        return opaqueFrames == null ? Collections.emptyList() : opaqueFrames;
+    }
+
+    /**
+     * Forget the frame tree; called on navigation
+     */
+    void invalidate() {
+        framePaths.clear();
+        opaqueFrames = null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Integer> toPath(Object rawPath) {
+        List<Integer> path = new ArrayList<>();
+        for (Object index : (List<Object>) rawPath) {
+            path.add(((Number) index).intValue());
+        }
+        return path;
+    }
+}
@@ -1,8 +1,6 @@
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
-import org.junit.runners.MethodSorters;
-import org.junit.FixMethodOrder;
  
 import org.openqa.selenium.*;
 import org.openqa.selenium.chrome.*;
@@ -25,7 +23,7 @@ import java.io.File;
  
 import static org.junit.Assert.*;
  
-@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+@RunWith(DependencyRunner.class)
 public class Guru99Tests {
     private WebDriver driver;
     private FormPage formPage;
@@ -38,6 +36,7 @@ public class Guru99Tests {
     private HoverPage hoverPage;
     private HistoryTestPage historyTestPage;
     private static ConfigReader config;
+    private static DriverPool driverPool;
  
     // Test account information
     private final String TEST_EMAIL = "test" + System.currentTimeMillis() + "@example.com";
@@ -47,25 +46,30 @@ public class Guru99Tests {
     private static String INVALID_EMAIL;
     private static String INVALID_PASSWORD;
    
-    // Store registered user for dependent tests
-    private static String REGISTERED_EMAIL;
-    private static String REGISTERED_PASSWORD;
-    private static boolean REGISTRATION_COMPLETED = false;
-    private static boolean LOGIN_COMPLETED = false;
+    // Data shared along dependency chains, e.g. the user registered in testA1 for testC and testD
+    private static final FixtureRegistry fixtures = new FixtureRegistry();
+    private static final String REGISTERED_USER = "registeredUser";
+   
+    // Stored login session that lets dependent tests skip the UI login
+    private static final String AUTH_SESSION = "insurance-user";
+   
+    // Account registered over HTTP, only for tests that ask for it
+    @Rule
+    public RegisteredUser registeredUser = new RegisteredUser();
  
     @BeforeClass
     public static void setUpClass() {
         System.out.println("===========================================");
         System.out.println("       GURU99 TEST SUITE STARTING");
         System.out.println("===========================================");
-        System.out.println("TEST DEPENDENCY CHAIN:");
+        System.out.println("TEST DEPENDENCY CHAIN (@DependsOn, run in order):");
         System.out.println("testA1_UserRegistration (depends on none)");
         System.out.println("  ↓");
         System.out.println("testC_ValidLogin (depends on A1)");
         System.out.println("  ↓");
         System.out.println("testD_UserLogout (depends on A1→C)");
         System.out.println("");
-        System.out.println("INDEPENDENT TESTS:");
+        System.out.println("INDEPENDENT TESTS (run concurrently on scheduler.workers):");
         System.out.println("- testA2_InvalidLoginAttempt");
         System.out.println("- testE_FormInteractions");
         System.out.println("- testF_FileUpload");
@@ -74,6 +78,8 @@ public class Guru99Tests {
         System.out.println("===========================================");
        
         config = new ConfigReader();
+        Waits.configure(config);
+        TextEntry.configure(config);
  
         // Use config credentials as invalid credentials for error testing
         INVALID_EMAIL = config.getUsername();
@@ -81,12 +87,20 @@ public class Guru99Tests {
        
         System.out.println("✓ Test Suite Setup: Using invalid credentials for error testing");
         System.out.println("✓ Invalid Email: " + INVALID_EMAIL);
+ 
+        // Browser sessions are leased from a pool instead of being started per test
+        WebDriverFactory.setSharedDriverService(config.isSharedDriverService());
+        WebDriverFactory.setPageLoadStrategy(config.getPageLoadStrategy());
+        // One session per scheduler worker
+        driverPool = new DriverPool(() -> Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config)),
+                                    Math.max(config.getPoolMaxSize(), config.getSchedulerWorkers()),
+                                    config.getPoolMaxReuse(), Duration.ofSeconds(config.getPoolMaxAgeSeconds()));
     }
  
     @Before
     public void setUp() {
-        // 使用WebDriverFactory创建WebDriver
-        this.driver = WebDriverFactory.createDriver();
+        // 从会话池租用WebDriver
+        this.driver = driverPool.lease();
        
         // Initialize page objects
         this.loginPage = new LoginPage(driver);
@@ -113,25 +127,24 @@ public class Guru99Tests {
         System.out.println("Will be used by: testC_ValidLogin");
        
         // Generate unique test credentials
-        REGISTERED_EMAIL = "test" + System.currentTimeMillis() + "@example.com";
-        REGISTERED_PASSWORD = "Password123";
+        UserProvisioner.User user = new UserProvisioner.User("test" + System.currentTimeMillis() + "@example.com",
+                                                             "Password123");
        
         try {
             // Step 1: Register new user
             registerPage.openPage();
-            registerPage.registerUser(REGISTERED_EMAIL, REGISTERED_PASSWORD);
+            registerPage.registerUser(user.getEmail(), user.getPassword());
            
             // Verify redirect to login page
             assertTrue("After registration should redirect to login page", loginPage.isOnLoginPage());
            
-            // Mark registration as completed for dependent tests
-            REGISTRATION_COMPLETED = true;
+            // Publish the account for dependent tests
+            fixtures.put(REGISTERED_USER, user);
            
             System.out.println("✓ Test A1 Completed: User registered successfully");
-            System.out.println("✓ Registered Email: " + REGISTERED_EMAIL);
-            System.out.println("✓ Registration status set for dependent tests");
+            System.out.println("✓ Registered Email: " + user.getEmail());
+            System.out.println("✓ Registered user published for dependent tests");
         } catch (Exception e) {
-            REGISTRATION_COMPLETED = false;
             System.err.println("✗ Test A1 Failed: " + e.getMessage());
             throw e;
         }
@@ -175,42 +188,37 @@ public class Guru99Tests {
      * Dependents: testD_UserLogout
      */
     @Test
+    @DependsOn("testA1_UserRegistration")
     public void testC_ValidLogin() {
         System.out.println("=== Test C: Starting valid login test ===");
         System.out.println("Dependencies: testA1_UserRegistration");
         System.out.println("Will be used by: testD_UserLogout");
        
-        // Check dependency: Registration must be completed first
-        if (!REGISTRATION_COMPLETED) {
-            fail("❌ DEPENDENCY FAILED: testA1_UserRegistration must complete successfully before this test");
-        }
-       
-        // Ensure we have registered credentials from Test A1
-        if (REGISTERED_EMAIL == null || REGISTERED_PASSWORD == null) {
-            fail("❌ DEPENDENCY FAILED: User registration data not available from testA1_UserRegistration");
-        }
-       
-        System.out.println("✓ Dependency check passed: Registration completed");
-        System.out.println("✓ Using registered email: " + REGISTERED_EMAIL);
+        // The runner only starts this test after testA1 passed, which published the account
+        UserProvisioner.User user = fixtures.require(REGISTERED_USER, UserProvisioner.User.class);
+        System.out.println("✓ Using registered email: " + user.getEmail());
        
         try {
             // Open login page
             loginPage.openPage();
            
             // Login with registered account
-            loginPage.login(REGISTERED_EMAIL, REGISTERED_PASSWORD);
+            loginPage.login(user.getEmail(), user.getPassword());
            
             // Verify successful login
             assertTrue("Should be successfully logged in", homePage.isLoggedIn());
-            assertEquals("Logged in user email should match", REGISTERED_EMAIL, homePage.getLoggedInEmail());
            
-            // Mark login as completed for dependent tests
-            LOGIN_COMPLETED = true;
+            // Check the home page from one snapshot
+            HomePage.HomeSnapshot home = homePage.getSnapshot();
+            assertEquals("Logged in user email should match", user.getEmail(), home.getLoggedInEmail());
+            assertTrue("Navigation tabs should be displayed", home.areTabsDisplayed());
+           
+            // Store the login session for dependent tests
+            new SessionStore(driver).capture(AUTH_SESSION);
            
             System.out.println("✓ Test C Completed: Valid login successful");
-            System.out.println("✓ Login status set for dependent tests");
+            System.out.println("✓ Login session stored for dependent tests");
         } catch (Exception e) {
-            LOGIN_COMPLETED = false;
             System.err.println("✗ Test C Failed: " + e.getMessage());
             throw e;
         }
@@ -223,28 +231,25 @@ public class Guru99Tests {
      * Dependents: None
      */
     @Test
+    @DependsOn("testC_ValidLogin")
     public void testD_UserLogout() {
         System.out.println("=== Test D: Starting logout test ===");
         System.out.println("Dependencies: testA1_UserRegistration → testC_ValidLogin");
         System.out.println("Dependents: None");
        
-        // Check dependency chain: Registration → Login → Logout
-        if (!REGISTRATION_COMPLETED) {
-            fail("❌ DEPENDENCY FAILED: testA1_UserRegistration must complete successfully before this test");
-        }
-       
-        if (!LOGIN_COMPLETED) {
-            fail("❌ DEPENDENCY FAILED: testC_ValidLogin must complete successfully before this test");
-        }
-       
-        System.out.println("✓ Dependency check passed: Registration and Login completed");
+        // The stored login session from testC starts us on the home page
+        SessionStore sessionStore = new SessionStore(driver);
+        Duration sessionTtl = Duration.ofMinutes(config.getSessionTtlMinutes());
+        boolean sessionRestored = sessionStore.restore(AUTH_SESSION, sessionTtl, homePage::openPage)
+                                  && homePage.isLoggedIn();
        
-        // Ensure user is currently logged in
-        if (!homePage.isLoggedIn()) {
-            // Try to login first to satisfy dependency
+        if (sessionRestored) {
+            System.out.println("✓ Dependency satisfied by stored login session");
+        } else {
+            // Login with a fresh account registered over HTTP, no browser registration needed
             System.out.println("⚠ User not logged in, attempting login to satisfy dependency...");
             loginPage.openPage();
-            loginPage.login(REGISTERED_EMAIL, REGISTERED_PASSWORD);
+            loginPage.login(registeredUser.getEmail(), registeredUser.getPassword());
             assertTrue("❌ DEPENDENCY FAILED: Must be logged in before testing logout", homePage.isLoggedIn());
             System.out.println("✓ Emergency login successful");
         }
@@ -257,6 +262,9 @@ public class Guru99Tests {
             assertTrue("After logout should return to login page", loginPage.isOnLoginPage());
             assertFalse("Should not be logged in after logout", homePage.isLoggedIn());
            
+            // The stored session was logged out on the server as well
+            SessionStore.discard(AUTH_SESSION);
+           
             System.out.println("✓ Test D Completed: Logout successful");
         } catch (Exception e) {
             System.err.println("✗ Test D Failed: " + e.getMessage());
@@ -285,19 +293,22 @@ public class Guru99Tests {
             formPage.toggleCheckbox(1, true);
             formPage.toggleCheckbox(3, true);
            
+            // Capture all selections in one call, then verify locally
+            FormPage.FormSelection selection = formPage.getSelectionSnapshot();
+           
             // Verify radio button status
-            assertTrue("Radio button 2 should be selected", formPage.isRadioButtonSelected(2));
-            assertFalse("Radio button 1 should not be selected", formPage.isRadioButtonSelected(1));
-            assertFalse("Radio button 3 should not be selected", formPage.isRadioButtonSelected(3));
+            assertTrue("Radio button 2 should be selected", selection.isRadioButtonSelected(2));
+            assertFalse("Radio button 1 should not be selected", selection.isRadioButtonSelected(1));
+            assertFalse("Radio button 3 should not be selected", selection.isRadioButtonSelected(3));
            
             // Verify checkbox status
-            assertTrue("Checkbox 1 should be selected", formPage.isCheckboxSelected(1));
-            assertFalse("Checkbox 2 should not be selected", formPage.isCheckboxSelected(2));
-            assertTrue("Checkbox 3 should be selected", formPage.isCheckboxSelected(3));
+            assertTrue("Checkbox 1 should be selected", selection.isCheckboxSelected(1));
+            assertFalse("Checkbox 2 should not be selected", selection.isCheckboxSelected(2));
+            assertTrue("Checkbox 3 should be selected", selection.isCheckboxSelected(3));
            
             // Uncheck checkbox 3
             formPage.toggleCheckbox(3, false);
-            assertFalse("Checkbox 3 should be unchecked", formPage.isCheckboxSelected(3));
+            assertFalse("Checkbox 3 should be unchecked", formPage.getSelectionSnapshot().isCheckboxSelected(3));
            
             System.out.println("✓ Test E Completed: Form interaction test successful");
         } catch (Exception e) {
@@ -369,11 +380,12 @@ public class Guru99Tests {
        
         for (int i = 0; i < pageUrls.length; i++) {
             try {
-                driver.get(pageUrls[i]);
-                // Wait for page to load
-                new WebDriverWait(driver, Duration.ofSeconds(10))
-                    .until(webDriver -> ((JavascriptExecutor) webDriver)
-                    .executeScript("return document.readyState").equals("complete"));
+                String pageUrl = pageUrls[i];
+                driver.get(pageUrl);
+                // The title is available once the DOM is parsed; no need to wait for every subresource
+                Waits.forClass(driver, Waits.WaitClass.NAVIGATION)
+                    .until(webDriver -> webDriver.getCurrentUrl().startsWith(pageUrl)
+                        && !"loading".equals(((JavascriptExecutor) webDriver).executeScript("return document.readyState")));
                
                 String actualTitle = driver.getTitle();
                 System.out.println("Testing page: " + pageUrls[i] + ", title: " + actualTitle);
@@ -429,24 +441,24 @@ public class Guru99Tests {
         // Open test page
         driver.get("https://demo.guru99.com/test/cookie/selenium_aut.php");
        
-        // Print all cookies
-        cookieManager.printAllCookies();
+        // Capture and print all cookies in one call
+        List<Cookie> originalCookies = cookieManager.snapshot();
+        System.out.println("Test I: Page has " + originalCookies.size() + " cookies");
        
-        // Add custom cookie
-        cookieManager.addCookie("testCookie", "testValue");
+        // Add custom cookie and consent popup disabling cookies in one bulk set
+        cookieManager.setAll(Arrays.asList(new Cookie("testCookie", "testValue"),
+                                           new Cookie("cookieconsent_status", "dismiss"),
+                                           new Cookie("consent", "accepted")));
        
-        // Verify cookie was added
-        String cookieValue = cookieManager.getCookieValue("testCookie");
+        // Verify cookie was added, read from one snapshot
+        String cookieValue = CookieManager.valueOf(cookieManager.snapshot(), "testCookie");
         assertEquals("Cookie value should match", "testValue", cookieValue);
        
-        // Add consent popup disabling cookie
-        cookieManager.addConsentCookie();
-       
         // Refresh page, verify popup doesn't appear
         driver.navigate().refresh();
        
-        // Delete all cookies
-        cookieManager.deleteAllCookies();
+        // Put the original cookies back
+        cookieManager.restore(originalCookies);
        
         System.out.println("Test I Completed: Cookie manipulation test successful");
     }
@@ -464,11 +476,12 @@ public class Guru99Tests {
         // Perform all drag and drop operations
         dragAndDropPage.completeAllDragAndDrop();
        
-        // Verify if "Perfect!" button is displayed
-        boolean isPerfect = dragAndDropPage.isPerfectButtonDisplayed();
+        // Verify the drop zones and the "Perfect!" button from one snapshot
+        DragAndDropPage.DragAndDropSnapshot result = dragAndDropPage.getSnapshot();
+        System.out.println("Test J: Drop zones after drag and drop: " + result);
        
         // Assert drag and drop operations successful
-        assertTrue("Perfect button should be displayed after drag and drop operations", isPerfect);
+        assertTrue("Perfect button should be displayed after drag and drop operations", result.isPerfectButtonDisplayed());
        
         System.out.println("Test J Completed: Drag and drop test successful");
     }
@@ -490,15 +503,12 @@ public class Guru99Tests {
         }
        
         try {
-            // Perform hover operation
-            hoverPage.hoverOverDownloadButton();
+            // Perform hover operation and read the tooltip while it lasts
+            String tooltipText = hoverPage.whileHoveringDownloadButton(HoverPage.HoverMode.FORCED,
+                () -> hoverPage.isTooltipVisible() ? hoverPage.getTooltipText() : null);
            
-            // Check tooltip
-            boolean isTooltipVisible = hoverPage.isTooltipVisible();
-           
-            if (isTooltipVisible) {
+            if (tooltipText != null) {
                 // Verify tooltip
-                String tooltipText = hoverPage.getTooltipText();
                 assertFalse("Tooltip text should not be empty", tooltipText.isEmpty());
                 System.out.println("Tooltip displays correctly, text: " + tooltipText);
             } else {
@@ -582,12 +592,9 @@ public class Guru99Tests {
             FormPage formPage = new FormPage(driver);
             formPage.openPage();
             
-            // wait for page to load
-            Thread.sleep(2000);
-            
             // click Selenium dropdown menu
             formPage.clickDropdown("Selenium");
-            Thread.sleep(1000); // wait for animation to complete
+            formPage.waitForDropdownExpanded("Selenium"); // wait for animation to complete
             
             // verify dropdown menu is expanded
             assertTrue("Dropdown menu should be expanded", formPage.isDropdownExpanded("Selenium"));
@@ -597,7 +604,7 @@ public class Guru99Tests {
             
             // verify page title
             String expectedTitle = "Radio Button & Check Box Demo";
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+            WebDriverWait wait = Waits.forClass(driver, Waits.WaitClass.NAVIGATION);
             wait.until(ExpectedConditions.titleIs(expectedTitle));
             assertEquals("Page title should match", expectedTitle, formPage.getPageTitle());
             
@@ -611,7 +618,18 @@ public class Guru99Tests {
     @After
     public void tearDown() {
         if (driver != null) {
-            driver.quit();
+            driverPool.release(driver);
+            driver = null;
+        }
+    }
+ 
+    @AfterClass
+    public static void tearDownClass() {
+        if (driverPool != null) {
+            driverPool.shutdown();
         }
+        System.out.println("Session startup: " + WebDriverFactory.getStartupStats());
+        System.out.println(WaitReport.summary());
+        System.out.println(BasePage.getCacheStats());
     }
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ public class HistoryTestPage extends BasePage {
      * @return Current object instance, supports chained calls
      */
     public HistoryTestPage visitFirstPage() {
-        driver.get(firstPageUrl);
+        openUrl(firstPageUrl);
         System.out.println("Visited first page: " + firstPageUrl);
         return this;
     }
@@ -32,7 +32,7 @@ public class HistoryTestPage extends BasePage {
      * @return Current object instance, supports chained calls
      */
     public HistoryTestPage visitSecondPage() {
-        driver.get(secondPageUrl);
+        openUrl(secondPageUrl);
         System.out.println("Visited second page: " + secondPageUrl);
         return this;
     }
@@ -42,16 +42,10 @@ public class HistoryTestPage extends BasePage {
      * @return Current object instance, supports chained calls
      */
     public HistoryTestPage goBack() {
-        driver.navigate().back();
+        // Wait for the previous page to load
+        timedWait("HistoryTestPage.goBack", 1000, () -> waitForPageChange(() -> driver.navigate().back()));
         System.out.println("Clicked browser's back button");
         
-        // Wait for page to load
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
         return this;
     }
     
@@ -60,16 +54,10 @@ public class HistoryTestPage extends BasePage {
      * @return Current object instance, supports chained calls
      */
     public HistoryTestPage goForward() {
-        driver.navigate().forward();
+        // Wait for the next page to load
+        timedWait("HistoryTestPage.goForward", 1000, () -> waitForPageChange(() -> driver.navigate().forward()));
         System.out.println("Clicked browser's forward button");
         
-        // Wait for page to load
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
         return this;
     }
     
@@ -78,16 +66,10 @@ public class HistoryTestPage extends BasePage {
      * @return Current object instance, supports chained calls
      */
     public HistoryTestPage refresh() {
-        driver.navigate().refresh();
+        // Wait for the reloaded page
+        timedWait("HistoryTestPage.refresh", 1000, () -> waitForPageChange(() -> driver.navigate().refresh()));
         System.out.println("Refreshed current page");
         
-        // Wait for page to load
-        try {
-            Thread.sleep(1000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
         return this;
     }
     
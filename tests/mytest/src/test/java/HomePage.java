@@ -2,11 +2,17 @@ package pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.Waits;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Insurance Broker System Homepage Object (post-login)
  */
 public class HomePage extends BasePage {
+    // Page URL
+    private static final String PAGE_URL = "https://demo.guru99.com/insurance/v1/header.php";
+    
     // Page element locators
     private By loggedInEmailLocator = By.cssSelector("div.content h4");
     private By logoutButtonLocator = By.xpath("//input[@value='Log out']");
@@ -16,6 +22,9 @@ public class HomePage extends BasePage {
     private By profileTabLocator = By.id("ui-id-4");
     private By editProfileTabLocator = By.id("ui-id-5");
     
+    // Shown instead of the logout button when not logged in
+    private By loginFormLocator = By.id("email");
+    
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -24,6 +33,15 @@ public class HomePage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Open home page (needs a logged in session, e.g. restored through SessionStore)
+     */
+    public HomePage openPage() {
+        openUrl(PAGE_URL);
+        System.out.println("Opened home page: " + PAGE_URL);
+        return this;
+    }
+    
     /**
      * Get logged in user email
      * @return User email
@@ -48,46 +66,104 @@ public class HomePage extends BasePage {
     public void logout() {
         try {
             // Wait for logout button to appear and click it
-            wait.until(ExpectedConditions.elementToBeClickable(logoutButtonLocator));
-            WebElement logoutButton = driver.findElement(logoutButtonLocator);
-            logoutButton.click();
-            System.out.println("Clicked logout button");
+            WebElement logoutButton = wait.until(ExpectedConditions.elementToBeClickable(logoutButtonLocator));
             
-            // Modification: Wait for any page change, not requiring specific URL
-            try {
-                Thread.sleep(2000); // Give some time for page transition
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // Wait for any page change, not requiring specific URL
+            timedWait("HomePage.logout", 2000, () -> waitForPageChange(logoutButton::click));
+            System.out.println("Clicked logout button");
         } catch (Exception e) {
             System.err.println("Logout failed, trying to click using JavaScript: " + e.getMessage());
             try {
                 JavascriptExecutor js = (JavascriptExecutor) driver;
-                WebElement logoutButton = driver.findElement(logoutButtonLocator);
-                js.executeScript("arguments[0].click();", logoutButton);
+                WebElement logoutButton = find(logoutButtonLocator)
+                    .orElseThrow(() -> new NoSuchElementException("Logout button not found"));
                 
                 // Wait for page change
-                Thread.sleep(2000);
+                timedWait("HomePage.logout (JavaScript click)", 2000,
+                          () -> waitForPageChange(() -> js.executeScript("arguments[0].click();", logoutButton)));
             } catch (Exception ex) {
                 System.err.println("JavaScript click also failed: " + ex.getMessage());
             }
         }
     }
 
+    /**
+     * Determine the login state: the logout button vs the login form, whichever appears first
+     * @return Login state
+     */
+    public LoginState getLoginState() {
+        switch (waitForEither(logoutButtonLocator, loginFormLocator, Waits.timeout(Waits.WaitClass.ELEMENT))) {
+            case FIRST:
+                return LoginState.LOGGED_IN;
+            case SECOND:
+                return LoginState.LOGGED_OUT;
+            default:
+                return LoginState.UNKNOWN;
+        }
+    }
+    
     /**
      * Verify if successfully logged in
      * @return Whether logged in
      */
     public boolean isLoggedIn() {
-        try {
-            // Increase wait time to ensure page is fully loaded
-            wait.until(ExpectedConditions.visibilityOfElementLocated(logoutButtonLocator));
-            boolean result = driver.findElement(logoutButtonLocator).isDisplayed();
-            System.out.println("Checking if logged in: " + result);
-            return result;
-        } catch (Exception e) {
-            System.out.println("Logout button not found, determined not logged in: " + e.getMessage());
-            return false;
+        LoginState state = getLoginState();
+        System.out.println("Checking if logged in: " + state);
+        return state == LoginState.LOGGED_IN;
+    }
+    
+    /**
+     * Capture the welcome text, logout button and tab states in one call
+     * @return Home page snapshot for local assertions
+     */
+    public HomeSnapshot getSnapshot() {
+        Map<String, By> locators = new LinkedHashMap<>();
+        locators.put("email", loggedInEmailLocator);
+        locators.put("logout", logoutButtonLocator);
+        locators.put("homeTab", homeTabLocator);
+        locators.put("requestQuotationTab", requestQuotationTabLocator);
+        locators.put("retrieveQuotationTab", retrieveQuotationTabLocator);
+        locators.put("profileTab", profileTabLocator);
+        locators.put("editProfileTab", editProfileTabLocator);
+        return new HomeSnapshot(snapshot(locators));
+    }
+    
+    /**
+     * Home page state at snapshot time
+     */
+    public static final class HomeSnapshot {
+        private final PageSnapshot snapshot;
+        
+        private HomeSnapshot(PageSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+        
+        /**
+         * Logged in user email, parsed like getLoggedInEmail()
+         */
+        public String getLoggedInEmail() {
+            String text = snapshot.get("email").getText();
+            return text.startsWith("Welcome") ? text.replace("Welcome ", "").trim() : text;
+        }
+        
+        public boolean isLogoutButtonDisplayed() {
+            return snapshot.get("logout").isDisplayed();
+        }
+        
+        /**
+         * Whether all five navigation tabs were displayed
+         */
+        public boolean areTabsDisplayed() {
+            return snapshot.get("homeTab").isDisplayed()
+                && snapshot.get("requestQuotationTab").isDisplayed()
+                && snapshot.get("retrieveQuotationTab").isDisplayed()
+                && snapshot.get("profileTab").isDisplayed()
+                && snapshot.get("editProfileTab").isDisplayed();
+        }
+        
+        @Override
+        public String toString() {
+            return snapshot.toString();
         }
     }
     
@@ -2,10 +2,12 @@ package pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
-import java.util.List; // Add this line to import List class
+import java.util.Optional;
+import java.util.function.Supplier;
 import utils.*;
 
 /**
@@ -18,6 +20,65 @@ public class HoverPage extends BasePage {
     private By downloadButtonLocator = By.xpath("//a[@id='download']"); // Use XPath instead of By.id
     private By tooltipTextLocator = By.xpath("//div[@class='tooltip']/span"); // Adjust tooltip locator
     
+    // Composite locators: all candidates are tried in one call, the usual winner first
+    private LearningBy downloadButtonCandidates = new LearningBy("HoverPage.downloadButton",
+        By.id("download"),
+        By.linkText("Download now"),
+        By.className("download"),
+        By.xpath("//a[contains(@href,'download')]"));
+    private LearningBy tooltipTextCandidates = new LearningBy("HoverPage.tooltipText",
+        tooltipTextLocator,
+        By.cssSelector(".tooltip"),
+        By.xpath("//*[contains(@class,'tooltip')]"));
+    
+    // In-page check: some element with a tooltip class is rendered and not hidden
+    private static final String TOOLTIP_VISIBLE_JS =
+        "Array.prototype.some.call(document.querySelectorAll('[class*=tooltip]'), function(e) {" +
+        "  var style = window.getComputedStyle(e);" +
+        "  return e.getClientRects().length > 0 && style.visibility !== 'hidden' && style.opacity !== '0';" +
+        "})";
+    
+    // Dispatches synthetic hover events on arguments[0] and resolves as soon as a tooltip is
+    // visible, re-checking on DOM mutations and transition/animation ends (arguments[1] = timeout ms)
+    private static final String HOVER_AND_AWAIT_TOOLTIP_JS =
+        "var element = arguments[0];" +
+        "var done = arguments[arguments.length - 1];" +
+        "var visible = function() { return " + TOOLTIP_VISIBLE_JS + "; };" +
+        "var finished = false;" +
+        "var events = ['transitionend', 'animationend'];" +
+        "var observer;" +
+        "var timer;" +
+        "var finish = function(result) {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  observer.disconnect();" +
+        "  clearTimeout(timer);" +
+        "  events.forEach(function(name) { document.removeEventListener(name, onChange, true); });" +
+        "  done(result);" +
+        "};" +
+        "var onChange = function() { if (visible()) { finish(true); } };" +
+        "observer = new MutationObserver(onChange);" +
+        "observer.observe(document, {childList: true, subtree: true, attributes: true});" +
+        "events.forEach(function(name) { document.addEventListener(name, onChange, true); });" +
+        "timer = setTimeout(function() { finish(visible()); }, arguments[1]);" +
+        "['mouseover', 'mouseenter', 'mousemove'].forEach(function(type) {" +
+        "  element.dispatchEvent(new MouseEvent(type, {bubbles: type !== 'mouseenter', cancelable: true, view: window}));" +
+        "});" +
+        "onChange();";
+    
+    // Longest wait for the tooltip after hovering
+    private static final long TOOLTIP_WAIT_MILLIS = 2000;
+    
+    /**
+     * How hoverOverDownloadButton hovers
+     */
+    public enum HoverMode {
+        /** Move the real pointer with Actions */
+        POINTER,
+        /** Force :hover through CDP (Chrome) plus synthetic mouse events - no pointer movement */
+        FORCED
+    }
+    
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -26,20 +87,20 @@ public class HoverPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the download link is in the DOM
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.presenceOfElementLocated(By.id("download"));
+    }
+    
     /**
      * Open tooltip test page
      */
     public HoverPage openPage() {
-        driver.get(pageUrl);
+        openUrl(pageUrl);
         System.out.println("Opened tooltip test page");
-        
-        // Increase page load wait time
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        
         return this;
     }
     
@@ -48,42 +109,17 @@ public class HoverPage extends BasePage {
      */
     public boolean hasDownloadButton() {
         try {
-            // Ensure page is fully loaded
-            new WebDriverWait(driver, Duration.ofSeconds(15))
-                .until(ExpectedConditions.jsReturnsValue("return document.readyState === 'complete'"));
-            
             // Print page source for debugging
             System.out.println("Page source contains 'download' string: " + 
                                driver.getPageSource().contains("download"));
             
-            // Try multiple locator methods
-            try {
-                WebElement button = driver.findElement(By.id("download"));
-                System.out.println("Found download button by ID");
-                return true;
-            } catch (NoSuchElementException e1) {
-                try {
-                    WebElement button = driver.findElement(By.linkText("Download now"));
-                    System.out.println("Found download button by link text");
-                    return true;
-                } catch (NoSuchElementException e2) {
-                    try {
-                        WebElement button = driver.findElement(By.className("download"));
-                        System.out.println("Found download button by class name");
-                        return true;
-                    } catch (NoSuchElementException e3) {
-                        // Finally try XPath
-                        try {
-                            WebElement button = driver.findElement(By.xpath("//a[contains(@href,'download')]"));
-                            System.out.println("Found download button by href containing 'download'");
-                            return true;
-                        } catch (NoSuchElementException e4) {
-                            System.out.println("Could not find download button");
-                            return false;
-                        }
-                    }
-                }
+            // Try all locator methods in one call
+            if (!isPresent(downloadButtonCandidates)) {
+                System.out.println("Could not find download button");
+                return false;
             }
+            System.out.println("Found download button by " + downloadButtonCandidates.getLastWinner());
+            return true;
         } catch (Exception e) {
             System.err.println("Error checking download button: " + e.getMessage());
             return false;
@@ -91,55 +127,59 @@ public class HoverPage extends BasePage {
     }
     
     /**
-     * Perform hover operation over download button
+     * Perform hover operation over download button, forcing the hover state
      */
     public HoverPage hoverOverDownloadButton() {
+        return hoverOverDownloadButton(HoverMode.FORCED);
+    }
+    
+    /**
+     * Perform hover operation over download button
+     * @param mode Hover mode
+     */
+    public HoverPage hoverOverDownloadButton(HoverMode mode) {
+        return whileHoveringDownloadButton(mode, () -> this);
+    }
+    
+    /**
+     * Hover over the download button, run a check while the hover lasts, then clear a
+     * forced :hover again so it does not outlive the check in a pooled session
+     * @param mode Hover mode
+     * @param whileHovering Check that needs the hover, e.g. reading the tooltip
+     * @return Result of the check
+     */
+    public <T> T whileHoveringDownloadButton(HoverMode mode, Supplier<T> whileHovering) {
+        WebElement forcedElement = null;
         try {
-            // Check if there are iframes
-            List<WebElement> iframes = driver.findElements(By.tagName("iframe"));
-            if (!iframes.isEmpty()) {
-                System.out.println("Page contains " + iframes.size() + " iframes, attempting to switch");
-                for (int i = 0; i < iframes.size(); i++) {
-                    try {
-                        driver.switchTo().frame(i);
-                        if (driver.findElements(downloadButtonLocator).size() > 0) {
-                            System.out.println("Found download button in iframe " + i);
-                            break;
-                        }
-                        driver.switchTo().defaultContent();
-                    } catch (Exception e) {
-                        driver.switchTo().defaultContent();
-                    }
-                }
+            // Switch straight to the frame holding the button (usually the top document)
+            if (!switchToFrameContaining(downloadButtonLocator)) {
+                System.out.println("Download button not found in any frame");
             }
             
-            // Try different location strategies
-            WebElement downloadButton = null;
-            try {
-                downloadButton = driver.findElement(By.id("download"));
-            } catch (NoSuchElementException e1) {
-                try {
-                    downloadButton = driver.findElement(By.xpath("//a[contains(@href,'download')]"));
-                } catch (NoSuchElementException e2) {
-                    try {
-                        downloadButton = driver.findElement(By.linkText("Download now"));
-                    } catch (NoSuchElementException e3) {
-                        throw new NoSuchElementException("Could not find download button, tried multiple locator methods");
-                    }
-                }
-            }
+            // Try all location strategies in one call
+            WebElement downloadButton = find(downloadButtonCandidates).orElseThrow(
+                () -> new NoSuchElementException("Could not find download button, tried multiple locator methods"));
             
-            if (downloadButton != null) {
+            if (mode == HoverMode.FORCED) {
+                // :hover forced through CDP where available; the synthetic events and the
+                // tooltip check run in one in-page call
+                boolean forced = forceHoverState(downloadButton);
+                if (forced) {
+                    forcedElement = downloadButton;
+                }
+                boolean tooltipShown = timedWait("HoverPage.hoverOverDownloadButton (forced)", 2000,
+                    () -> Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(
+                        HOVER_AND_AWAIT_TOOLTIP_JS, downloadButton, TOOLTIP_WAIT_MILLIS)));
+                System.out.println("Forced hover over download button (CDP :hover " + forced
+                                   + "), tooltip shown: " + tooltipShown);
+            } else {
                 Actions actions = new Actions(driver);
                 actions.moveToElement(downloadButton).perform();
                 System.out.println("Performed hover over download button");
                 
-                // Wait for tooltip to display
-                try {
-                    Thread.sleep(2000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
+                // Wait for tooltip to display, at most as long as the old fixed sleep
+                timedWait("HoverPage.hoverOverDownloadButton", 2000,
+                          () -> waitForPageCondition(TOOLTIP_VISIBLE_JS, Duration.ofMillis(TOOLTIP_WAIT_MILLIS)));
             }
             
         } catch (Exception e) {
@@ -147,7 +187,14 @@ public class HoverPage extends BasePage {
             // Print page source for debugging
             System.out.println("Page source: " + driver.getPageSource());
         }
-        return this;
+        
+        try {
+            return whileHovering.get();
+        } finally {
+            if (forcedElement != null) {
+                clearHoverState(forcedElement);
+            }
+        }
     }
     
     /**
@@ -155,29 +202,16 @@ public class HoverPage extends BasePage {
      */
     public String getTooltipText() {
         try {
-            // Try multiple ways to find tooltip
-            WebElement tooltipText = null;
-            try {
-                tooltipText = driver.findElement(tooltipTextLocator);
-            } catch (NoSuchElementException e1) {
-                try {
-                    tooltipText = driver.findElement(By.cssSelector(".tooltip"));
-                } catch (NoSuchElementException e2) {
-                    try {
-                        tooltipText = driver.findElement(By.xpath("//*[contains(@class,'tooltip')]"));
-                    } catch (NoSuchElementException e3) {
-                        System.err.println("Cannot find tooltip element");
-                        return "";
-                    }
-                }
+            // Try all ways to find the tooltip in one call
+            Optional<WebElement> tooltipText = find(tooltipTextCandidates);
+            if (!tooltipText.isPresent()) {
+                System.err.println("Cannot find tooltip element");
+                return "";
             }
             
-            if (tooltipText != null) {
-                String text = tooltipText.getText();
-                System.out.println("Tooltip text: " + text);
-                return text;
-            }
-            return "";
+            String text = tooltipText.get().getText();
+            System.out.println("Tooltip text: " + text);
+            return text;
         } catch (Exception e) {
             System.err.println("Failed to get tooltip text: " + e.getMessage());
             return "";
@@ -189,28 +223,13 @@ public class HoverPage extends BasePage {
      */
     public boolean isTooltipVisible() {
         try {
-            // Try multiple ways to find tooltip
-            List<WebElement> tooltips = driver.findElements(By.xpath("//*[contains(@class,'tooltip')]"));
-            if (!tooltips.isEmpty()) {
-                for (WebElement tooltip : tooltips) {
-                    if (tooltip.isDisplayed()) {
-                        System.out.println("Found visible tooltip");
-                        return true;
-                    }
-                }
+            // Check every tooltip candidate in one in-page call
+            boolean visible = Boolean.TRUE.equals(
+                ((JavascriptExecutor) driver).executeScript("return " + TOOLTIP_VISIBLE_JS + ";"));
+            if (visible) {
+                System.out.println("Found visible tooltip");
             }
-            
-            // If not found, try other locator methods
-            tooltips = driver.findElements(By.cssSelector(".tooltip"));
-            if (!tooltips.isEmpty()) {
-                for (WebElement tooltip : tooltips) {
-                    if (tooltip.isDisplayed()) {
-                        return true;
-                    }
-                }
-            }
-            
-            return false;
+            return visible;
         } catch (Exception e) {
             System.err.println("Failed to check tooltip visibility: " + e.getMessage());
             return false;
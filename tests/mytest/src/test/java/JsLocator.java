@@ -0,0 +1,70 @@
+package utils;
+
+import org.openqa.selenium.By;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Evaluates Selenium locators inside the page, so several locators can be
+ * checked in a single script call instead of one findElement round trip each
+ */
+public class JsLocator {
+    /**
+     * Script functions to prepend to page scripts:
+     * locateAll(spec, root) returns the matching elements of a locator spec,
+     * locateFirst(spec, root) the first match or null,
+     * isVisible(element) whether the element is rendered and not hidden.
+     */
+    public static final String FUNCTIONS =
+        "function locateAll(spec, root) {" +
+        "  root = root || document;" +
+        "  var doc = root.ownerDocument || root;" +
+        "  try {" +
+        "    if (spec.using === 'css selector') { return Array.prototype.slice.call(root.querySelectorAll(spec.value)); }" +
+        "    if (spec.using === 'tag name') { return Array.prototype.slice.call(root.getElementsByTagName(spec.value)); }" +
+        "    if (spec.using === 'xpath') {" +
+        "      var result = doc.evaluate(spec.value, root, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+        "      var nodes = [];" +
+        "      for (var i = 0; i < result.snapshotLength; i++) {" +
+        "        if (result.snapshotItem(i).nodeType === 1) { nodes.push(result.snapshotItem(i)); }" +
+        "      }" +
+        "      return nodes;" +
+        "    }" +
+        "    if (spec.using === 'link text' || spec.using === 'partial link text') {" +
+        "      return Array.prototype.filter.call(root.querySelectorAll('a'), function(a) {" +
+        "        var text = (a.innerText || a.textContent || '').trim();" +
+        "        return spec.using === 'link text' ? text === spec.value : text.indexOf(spec.value) >= 0;" +
+        "      });" +
+        "    }" +
+        "  } catch (e) {}" +
+        "  return [];" +
+        "}" +
+        "function locateFirst(spec, root) {" +
+        "  var matches = locateAll(spec, root);" +
+        "  return matches.length > 0 ? matches[0] : null;" +
+        "}" +
+        "function isVisible(element) {" +
+        "  if (!element || element.getClientRects().length === 0) { return false; }" +
+        "  var style = window.getComputedStyle(element);" +
+        "  return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';" +
+        "}";
+
+    private JsLocator() {
+    }
+
+    /**
+     * Describe a locator as a script argument ({using, value}, the W3C locator strategy)
+     * @param locator Standard Selenium locator (By.id, By.xpath, By.cssSelector...)
+     * @return Locator spec for locateAll/locateFirst
+     */
+    public static Map<String, Object> describe(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the page: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        Map<String, Object> spec = new HashMap<>();
+        spec.put("using", parameters.using());
+        spec.put("value", parameters.value());
+        return spec;
+    }
+}
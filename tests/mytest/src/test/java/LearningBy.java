@@ -0,0 +1,111 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Composite locator: all candidate strategies are evaluated in one in-browser call and
+ * the matches of the first candidate that finds anything are returned. The winning
+ * candidate is recorded in LocatorStats, so later runs try it first.
+ * Replaces chains of findElement calls in nested try/catch blocks.
+ */
+public class LearningBy extends By {
+    // Returns the index of the first candidate with matches and its elements, or null
+    private static final String FIND_SCRIPT = JsLocator.FUNCTIONS +
+        "var specs = arguments[0];" +
+        "var root = arguments[1] || document;" +
+        "for (var i = 0; i < specs.length; i++) {" +
+        "  var matches = locateAll(specs[i], root);" +
+        "  if (matches.length > 0) { return {index: i, elements: matches}; }" +
+        "}" +
+        "return null;";
+
+    private final String name;
+    private final List<By> candidates;
+    private volatile By lastWinner;
+
+    /**
+     * Constructor
+     * @param name Stable name for the win statistics, e.g. "HoverPage.downloadButton"
+     * @param candidates Candidate locators in the order to try them without statistics
+     */
+    public LearningBy(String name, By... candidates) {
+        if (candidates.length == 0) {
+            throw new IllegalArgumentException("LearningBy needs at least one candidate: " + name);
+        }
+        this.name = name;
+        this.candidates = Collections.unmodifiableList(Arrays.asList(candidates));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+        List<By> ordered = LocatorStats.order(name, candidates);
+        JavascriptExecutor js = executorOf(context);
+        if (js == null || !ordered.stream().allMatch(candidate -> candidate instanceof By.Remotable)) {
+            return findSequentially(context, ordered);
+        }
+
+        List<Map<String, Object>> specs = new ArrayList<>();
+        for (By candidate : ordered) {
+            specs.add(JsLocator.describe(candidate));
+        }
+        Object root = context instanceof WebElement ? context : null;
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(FIND_SCRIPT, specs, root);
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        recordWin(ordered.get(((Number) result.get("index")).intValue()));
+        return (List<WebElement>) result.get("elements");
+    }
+
+    /**
+     * Get the candidate that found the element in the last successful lookup
+     * @return Winning candidate, or null before the first match
+     */
+    public By getLastWinner() {
+        return lastWinner;
+    }
+
+    @Override
+    public String toString() {
+        return "LearningBy " + name + ": " + candidates;
+    }
+
+    /**
+     * Fallback for contexts without script access: one lookup per candidate
+     */
+    private List<WebElement> findSequentially(SearchContext context, List<By> ordered) {
+        for (By candidate : ordered) {
+            List<WebElement> matches = context.findElements(candidate);
+            if (!matches.isEmpty()) {
+                recordWin(candidate);
+                return matches;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private void recordWin(By winner) {
+        lastWinner = winner;
+        LocatorStats.recordWin(name, winner);
+    }
+
+    private static JavascriptExecutor executorOf(SearchContext context) {
+        if (context instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) context;
+        }
+        if (context instanceof WrapsDriver && ((WrapsDriver) context).getWrappedDriver() instanceof JavascriptExecutor) {
+            return (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Win statistics of LearningBy candidates, persisted in a local file
+ * (locator name and candidate -> wins) so later runs try the usual winner first
+ */
+public class LocatorStats {
+    private static final String STATS_FILE = ".locator-cache" + File.separator + "locator-stats.properties";
+    private static Properties stats;
+    private static boolean dirty = false;
+
+    private LocatorStats() {
+    }
+
+    /**
+     * Order candidates by wins, most wins first; ties keep the declared order
+     * @param name Locator name
+     * @param candidates Candidates in declared order
+     * @return Candidates in the order to try them
+     */
+    public static synchronized <T> List<T> order(String name, List<T> candidates) {
+        Properties current = stats();
+        List<T> ordered = new ArrayList<>(candidates);
+        ordered.sort(Comparator.comparingInt((T candidate) -> -wins(current, key(name, candidate))));
+        return ordered;
+    }
+
+    /**
+     * Record that a candidate found the element
+     * @param name Locator name
+     * @param candidate Winning candidate
+     */
+    public static synchronized void recordWin(String name, Object candidate) {
+        Properties current = stats();
+        String key = key(name, candidate);
+        current.setProperty(key, String.valueOf(wins(current, key) + 1));
+        dirty = true;
+    }
+
+    /**
+     * Write the statistics if they changed; also runs at JVM shutdown
+     */
+    public static synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        File file = new File(STATS_FILE);
+        file.getParentFile().mkdirs();
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            stats.store(fos, "LearningBy wins (locator name.candidate=wins)");
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("Failed to write locator stats: " + e.getMessage());
+        }
+    }
+
+    private static Properties stats() {
+        if (stats == null) {
+            stats = new Properties();
+            File file = new File(STATS_FILE);
+            if (file.exists()) {
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    stats.load(fis);
+                } catch (IOException e) {
+                    System.err.println("Failed to read locator stats: " + e.getMessage());
+                }
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(LocatorStats::save));
+        }
+        return stats;
+    }
+
+    private static String key(String name, Object candidate) {
+        return name + "." + candidate;
+    }
+
+    private static int wins(Properties current, String key) {
+        try {
+            return Integer.parseInt(current.getProperty(key, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
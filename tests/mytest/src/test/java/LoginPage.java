@@ -1,6 +1,9 @@
 package pages;
 
 import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.Waits;
 
 /**
  * Insurance Broker System Login Page Object
@@ -15,6 +18,13 @@ public class LoginPage extends BasePage {
     private By loginButtonLocator = By.name("submit");
     private By registerLinkLocator = By.linkText("Register");
     
+    // Shown instead of the login form once logged in
+    private By logoutButtonLocator = By.xpath("//input[@value='Log out']");
+    
+    // Network-idle wait after submitting the form
+    private static final long SUBMIT_QUIET_MILLIS = 300;
+    private static final int MAX_BACKGROUND_REQUESTS = 1;
+    
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -23,11 +33,19 @@ public class LoginPage extends BasePage {
         super(driver);
     }
 
+    /**
+     * Ready when the login form can be submitted
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.elementToBeClickable(loginButtonLocator);
+    }
+
     /**
      * Open login page
      */
     public LoginPage openPage() {
-        driver.get(PAGE_URL);
+        openUrl(PAGE_URL);
         System.out.println("Opened login page: " + PAGE_URL);
         return this;
     }
@@ -67,16 +85,13 @@ public class LoginPage extends BasePage {
      * Perform login
      */
     public void login(String email, String password) {
+        startNetworkTracking();
         enterEmail(email);
         enterPassword(password);
-        clickLogin();
         
-        // Wait for login to complete, page should change
-        try {
-            Thread.sleep(2000); // Brief wait to ensure page loads
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // Wait for login to complete: the next page is loaded and its requests have settled
+        timedWait("LoginPage.login", 2000, () -> waitForPageChange(this::clickLogin)
+                  && waitForNetworkIdle(SUBMIT_QUIET_MILLIS, MAX_BACKGROUND_REQUESTS));
     }
     
     /**
@@ -87,14 +102,25 @@ public class LoginPage extends BasePage {
         System.out.println("Clicked register link");
     }
     
+    /**
+     * Determine the login state: the login form vs the logout button, whichever appears first
+     * @return Login state
+     */
+    public LoginState getLoginState() {
+        switch (waitForEither(loginButtonLocator, logoutButtonLocator, Waits.timeout(Waits.WaitClass.ELEMENT))) {
+            case FIRST:
+                return LoginState.LOGGED_OUT;
+            case SECOND:
+                return LoginState.LOGGED_IN;
+            default:
+                return LoginState.UNKNOWN;
+        }
+    }
+    
     /**
      * Check if on login page
      */
     public boolean isOnLoginPage() {
-        try {
-            return driver.findElement(loginButtonLocator).isDisplayed();
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return getLoginState() == LoginState.LOGGED_OUT;
     }
 }
\ No newline at end of file
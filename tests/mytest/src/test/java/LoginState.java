@@ -0,0 +1,13 @@
+package pages;
+
+/**
+ * Login state of the Insurance Broker System, decided by which marker appears first
+ */
+public enum LoginState {
+    /** The logout button is shown */
+    LOGGED_IN,
+    /** The login form is shown */
+    LOGGED_OUT,
+    /** Neither marker appeared in time (page not loaded, unexpected page) */
+    UNKNOWN
+}
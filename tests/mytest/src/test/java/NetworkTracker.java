@@ -0,0 +1,162 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.BiDi;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts in-flight network requests of a browser session from protocol events:
+ * Chrome DevTools Network events on Chromium, WebDriver BiDi network events elsewhere
+ */
+public class NetworkTracker {
+    private static final Map<WebDriver, NetworkTracker> trackers = new WeakHashMap<>();
+
+    private static final List<String> BIDI_EVENTS = Arrays.asList(
+        "network.beforeRequestSent", "network.responseCompleted", "network.fetchError");
+
+    private final Set<String> inflightRequests = new HashSet<>();
+    private long lastActivityNanos = System.nanoTime();
+
+    private NetworkTracker() {
+    }
+
+    /**
+     * Get the tracker of a session, subscribing to network events on first use
+     * @param driver WebDriver instance
+     * @return Tracker, or empty when the browser offers neither DevTools nor BiDi
+     */
+    public static synchronized Optional<NetworkTracker> forDriver(WebDriver driver) {
+        if (trackers.containsKey(driver)) {
+            return Optional.ofNullable(trackers.get(driver));
+        }
+
+        NetworkTracker tracker = new NetworkTracker();
+        try {
+            if (driver instanceof ChromiumDriver) {
+                tracker.subscribeDevTools(((ChromiumDriver) driver).getDevTools());
+            } else if (driver instanceof HasBiDi && ((HasBiDi) driver).maybeGetBiDi().isPresent()) {
+                tracker.subscribeBiDi(((HasBiDi) driver).getBiDi());
+            } else {
+                tracker = null;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Network tracking unavailable: " + e.getMessage());
+            tracker = null;
+        }
+
+        // Remember failures too, so unsupported sessions are not probed again
+        trackers.put(driver, tracker);
+        return Optional.ofNullable(tracker);
+    }
+
+    /**
+     * Wait until at most maxInflight requests are pending and the network
+     * has been quiet for quietMillis. The quiet window also starts at the call,
+     * so a request triggered just before the call is not missed.
+     * @param quietMillis Required quiet window in milliseconds
+     * @param maxInflight Number of requests allowed to stay pending (long polls, beacons)
+     * @param timeout Maximum wait
+     * @return Whether the network became idle before the timeout
+     */
+    public synchronized boolean awaitIdle(long quietMillis, int maxInflight, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+
+        while (true) {
+            long now = System.nanoTime();
+            long quietSince = Math.max(lastActivityNanos, start);
+            if (inflightRequests.size() <= maxInflight && now - quietSince >= quietNanos) {
+                return true;
+            }
+            if (now >= deadline) {
+                System.err.println("Network not idle after " + timeout.toMillis() + " ms, "
+                                   + inflightRequests.size() + " requests in flight");
+                return false;
+            }
+
+            long waitNanos = deadline - now;
+            if (inflightRequests.size() <= maxInflight) {
+                waitNanos = Math.min(waitNanos, quietSince + quietNanos - now);
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, waitNanos));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Get number of requests currently in flight
+     * @return In-flight request count
+     */
+    public synchronized int getInflightCount() {
+        return inflightRequests.size();
+    }
+
+    private synchronized void requestStarted(String requestId) {
+        inflightRequests.add(requestId);
+        lastActivityNanos = System.nanoTime();
+        notifyAll();
+    }
+
+    private synchronized void requestFinished(String requestId) {
+        inflightRequests.remove(requestId);
+        lastActivityNanos = System.nanoTime();
+        notifyAll();
+    }
+
+    private void subscribeDevTools(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.send(new Command<Void>("Network.enable", Collections.emptyMap()));
+        devTools.addListener(devToolsEvent("Network.requestWillBeSent"), this::requestStarted);
+        devTools.addListener(devToolsEvent("Network.loadingFinished"), this::requestFinished);
+        devTools.addListener(devToolsEvent("Network.loadingFailed"), this::requestFinished);
+    }
+
+    private void subscribeBiDi(BiDi biDi) {
+        biDi.send(new org.openqa.selenium.bidi.Command<Void>(
+            "session.subscribe", Collections.singletonMap("events", BIDI_EVENTS)));
+        biDi.addListener(biDiEvent(BIDI_EVENTS.get(0)), this::requestStarted);
+        biDi.addListener(biDiEvent(BIDI_EVENTS.get(1)), this::requestFinished);
+        biDi.addListener(biDiEvent(BIDI_EVENTS.get(2)), this::requestFinished);
+    }
+
+    /**
+     * Raw CDP event carrying a requestId - independent of the CDP version of the browser
+     */
+    private static Event<String> devToolsEvent(String method) {
+        return new Event<>(method, input -> {
+            Map<String, Object> params = input.read(Json.MAP_TYPE);
+            return String.valueOf(params.get("requestId"));
+        });
+    }
+
+    /**
+     * BiDi network event; the request id is params.request.request
+     */
+    @SuppressWarnings("unchecked")
+    private static org.openqa.selenium.bidi.Event<String> biDiEvent(String method) {
+        return new org.openqa.selenium.bidi.Event<>(method, params -> {
+            Map<String, Object> request = (Map<String, Object>) params.get("request");
+            return request == null ? "" : String.valueOf(request.get("request"));
+        });
+    }
+}
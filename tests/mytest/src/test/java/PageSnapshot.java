@@ -0,0 +1,142 @@
+package pages;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable state of several page elements, captured in one script call by BasePage.snapshot().
+ * Assertions on a snapshot run locally instead of costing a driver round trip each.
+ */
+public final class PageSnapshot {
+    private final Map<String, ElementState> elements;
+
+    PageSnapshot(Map<String, ElementState> elements) {
+        this.elements = Collections.unmodifiableMap(new LinkedHashMap<>(elements));
+    }
+
+    /**
+     * Build a snapshot from the script result (key → state map, null for missing elements)
+     */
+    @SuppressWarnings("unchecked")
+    static PageSnapshot fromScriptResult(Map<String, Object> result) {
+        Map<String, ElementState> elements = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : result.entrySet()) {
+            Map<String, Object> state = (Map<String, Object>) entry.getValue();
+            elements.put(entry.getKey(), state == null ? ElementState.MISSING : new ElementState(state));
+        }
+        return new PageSnapshot(elements);
+    }
+
+    /**
+     * Get the state of one element
+     * @param key Key the locator was registered under
+     * @return Element state; ElementState.MISSING if the element was not found
+     */
+    public ElementState get(String key) {
+        if (!elements.containsKey(key)) {
+            throw new IllegalArgumentException("No element in snapshot for key: " + key);
+        }
+        return elements.get(key);
+    }
+
+    /**
+     * Get all element states by key
+     * @return Unmodifiable map
+     */
+    public Map<String, ElementState> getAll() {
+        return elements;
+    }
+
+    @Override
+    public String toString() {
+        return elements.toString();
+    }
+
+    /**
+     * State of one element at snapshot time
+     */
+    public static final class ElementState {
+        /** State of an element that did not exist */
+        public static final ElementState MISSING = new ElementState();
+
+        private final boolean present;
+        private final boolean displayed;
+        private final boolean selected;
+        private final String text;
+        private final String value;
+        private final Map<String, String> attributes;
+
+        private ElementState() {
+            this.present = false;
+            this.displayed = false;
+            this.selected = false;
+            this.text = "";
+            this.value = null;
+            this.attributes = Collections.emptyMap();
+        }
+
+        @SuppressWarnings("unchecked")
+        private ElementState(Map<String, Object> state) {
+            this.present = true;
+            this.displayed = Boolean.TRUE.equals(state.get("displayed"));
+            this.selected = Boolean.TRUE.equals(state.get("selected"));
+            this.text = state.get("text") == null ? "" : state.get("text").toString();
+            this.value = state.get("value") == null ? null : state.get("value").toString();
+            Map<String, String> attributeMap = new HashMap<>();
+            Object rawAttributes = state.get("attributes");
+            if (rawAttributes instanceof Map) {
+                for (Map.Entry<String, Object> attribute : ((Map<String, Object>) rawAttributes).entrySet()) {
+                    attributeMap.put(attribute.getKey(), String.valueOf(attribute.getValue()));
+                }
+            }
+            this.attributes = Collections.unmodifiableMap(attributeMap);
+        }
+
+        public boolean isPresent() {
+            return present;
+        }
+
+        public boolean isDisplayed() {
+            return displayed;
+        }
+
+        public boolean isSelected() {
+            return selected;
+        }
+
+        /**
+         * Get the rendered text
+         * @return Text, empty if the element was missing
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Get the current value of an input, select or textarea
+         * @return Value, or null for elements without a value
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Get an attribute as it was in the DOM
+         * @param name Attribute name
+         * @return Attribute value, or null if not set
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public String toString() {
+            if (!present) {
+                return "missing";
+            }
+            return "{displayed=" + displayed + ", selected=" + selected + ", text='" + text + "', value=" + value + "}";
+        }
+    }
+}
@@ -0,0 +1,334 @@
+import org.junit.*;
+
+import org.openqa.selenium.*;
+
+import pages.*;
+import utils.*;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Performance benchmarks - excluded from the regular test run.
+ * Run with: gradle benchmark
+ */
+public class PerformanceBenchmarks {
+    private static final int SESSIONS_PER_MODE = 5;
+    private static final int SCENARIO_RUNS = 3;
+    private static final int[] TEXT_PAYLOAD_SIZES = {1024, 10 * 1024, 100 * 1024, 1024 * 1024};
+    private static final int KEYSTROKE_MAX_PAYLOAD = 10 * 1024;
+    private static final int LOOKUP_RUNS = 200;
+    private static final int PROVISIONED_USERS = 10;
+    private static ConfigReader config;
+    
+    // Registered over HTTP only when a benchmark asks for it
+    @Rule
+    public RegisteredUser registeredUser = new RegisteredUser();
+
+    @BeforeClass
+    public static void setUpClass() {
+        config = new ConfigReader();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        WebDriverFactory.setSharedDriverService(config.isSharedDriverService());
+    }
+
+    /**
+     * Benchmark: session startup with a dedicated chromedriver per session vs one shared service
+     */
+    @Test
+    public void benchmarkSharedDriverService() {
+        System.out.println("Benchmark: session startup, dedicated vs shared driver service");
+
+        // Warm-up session so driver resolution and the first browser start are not measured
+        WebDriverFactory.createHeadlessChromeDriver().quit();
+
+        long dedicatedMillis = averageStartupMillis(false);
+        long sharedMillis = averageStartupMillis(true);
+
+        System.out.println("Dedicated driver service: avg " + dedicatedMillis + " ms per session");
+        System.out.println("Shared driver service:    avg " + sharedMillis + " ms per session");
+        System.out.println("Saved per session:        " + (dedicatedMillis - sharedMillis) + " ms");
+        assertTrue("Startup time should be measured", dedicatedMillis > 0 && sharedMillis > 0);
+    }
+
+    /**
+     * Benchmark: per-test time with the default browser profile vs the perf profile
+     */
+    @Test
+    public void benchmarkPerfProfile() {
+        System.out.println("Benchmark: per-test time, default vs perf browser profile");
+
+        long defaultMillis = averageScenarioMillis(WebDriverFactory.createDriver(config.getBrowser()));
+        long perfMillis = averageScenarioMillis(WebDriverFactory.createPerfDriver(config.getBrowser()));
+
+        System.out.println("Default profile: avg " + defaultMillis + " ms per test");
+        System.out.println("Perf profile:    avg " + perfMillis + " ms per test");
+        System.out.println("Saved per test:  " + (defaultMillis - perfMillis) + " ms");
+        assertTrue("Test time should be measured", defaultMillis > 0 && perfMillis > 0);
+    }
+
+    /**
+     * Benchmark: filling the registration form field by field vs in one script call
+     */
+    @Test
+    public void benchmarkRegistrationFillModes() {
+        System.out.println("Benchmark: registration form, keystrokes vs bulk fill");
+        
+        WebDriver driver = Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config));
+        try {
+            RegisterPage registerPage = new RegisterPage(driver);
+            long keystrokeMillis = averageFillMillis(registerPage, RegisterPage.FillMode.KEYSTROKES);
+            long bulkMillis = averageFillMillis(registerPage, RegisterPage.FillMode.BULK);
+            
+            System.out.println("Keystrokes: avg " + keystrokeMillis + " ms per registration form");
+            System.out.println("Bulk fill:  avg " + bulkMillis + " ms per registration form");
+            System.out.println("Saved per registration: " + (keystrokeMillis - bulkMillis) + " ms");
+            assertTrue("Fill time should be measured", keystrokeMillis > 0 && bulkMillis > 0);
+        } finally {
+            driver.quit();
+        }
+    }
+    
+    /**
+     * Average time to fill (not submit) the registration form; page loads are not measured
+     */
+    private long averageFillMillis(RegisterPage registerPage, RegisterPage.FillMode mode) {
+        long totalNanos = 0;
+        for (int i = 0; i < SCENARIO_RUNS; i++) {
+            registerPage.openPage();
+            String email = "bench" + System.currentTimeMillis() + "@example.com";
+            long start = System.nanoTime();
+            registerPage.fillRegistrationForm(email, "Password123", mode);
+            totalNanos += System.nanoTime() - start;
+            assertEquals("Email field should be filled in " + mode + " mode", email, registerPage.getEnteredEmail());
+        }
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos / SCENARIO_RUNS);
+    }
+    
+    /**
+     * Benchmark: registering a user through the browser vs over HTTP, sequential and concurrent
+     */
+    @Test
+    public void benchmarkUserProvisioning() {
+        System.out.println("Benchmark: user registration, browser vs HTTP provisioning");
+        
+        // One UI registration (warm browser) for reference
+        WebDriver driver = Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config));
+        long uiMillis;
+        long httpMillis;
+        try {
+            RegisterPage registerPage = new RegisterPage(driver);
+            registerPage.openPage();
+            long start = System.nanoTime();
+            registerPage.registerUser("bench" + System.currentTimeMillis() + "@example.com", "Password123");
+            uiMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            // The fixture registers on first use
+            start = System.nanoTime();
+            String email = registeredUser.getEmail();
+            httpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            
+            // The provisioned account works in the browser
+            LoginPage loginPage = new LoginPage(driver);
+            loginPage.openPage();
+            loginPage.login(email, registeredUser.getPassword());
+            assertTrue("HTTP-provisioned user should be able to log in", new HomePage(driver).isLoggedIn());
+        } finally {
+            driver.quit();
+        }
+        
+        long start = System.nanoTime();
+        List<UserProvisioner.User> users = new UserProvisioner().provision(PROVISIONED_USERS);
+        long concurrentMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        
+        System.out.println("Browser registration:    " + uiMillis + " ms per user");
+        System.out.println("HTTP provisioning:       " + httpMillis + " ms per user (first, including connection setup)");
+        System.out.println("HTTP, " + PROVISIONED_USERS + " concurrently: " + concurrentMillis + " ms ("
+                           + concurrentMillis / PROVISIONED_USERS + " ms per user)");
+        assertEquals("All users should be provisioned", PROVISIONED_USERS, users.size());
+    }
+    
+    /**
+     * Benchmark: textarea entry throughput per strategy, payloads from 1 KB to 1 MB.
+     * Keystrokes are only measured up to KEYSTROKE_MAX_PAYLOAD, beyond that they take minutes.
+     */
+    @Test
+    public void benchmarkTextEntryThroughput() {
+        System.out.println("Benchmark: textarea entry throughput by strategy");
+        
+        WebDriver driver = Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config));
+        try {
+            TextareaPage textareaPage = new TextareaPage(driver);
+            for (int size : TEXT_PAYLOAD_SIZES) {
+                String payload = textPayload(size);
+                for (TextEntry.Strategy strategy : TextEntry.Strategy.values()) {
+                    if (strategy == TextEntry.Strategy.KEYSTROKES && size > KEYSTROKE_MAX_PAYLOAD) {
+                        System.out.println(String.format("%8d bytes  %-11s skipped", size, strategy));
+                        continue;
+                    }
+                    textareaPage.openPage();
+                    long start = System.nanoTime();
+                    textareaPage.enterText(payload, strategy);
+                    long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    
+                    assertEquals(strategy + " should enter the whole " + size + " byte payload",
+                                 payload.length(), textareaPage.getTextContent().length());
+                    System.out.println(String.format("%8d bytes  %-11s %7d ms  %10.1f KB/s",
+                                                     size, strategy, millis, size / 1024.0 / (millis / 1000.0)));
+                }
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+    
+    /**
+     * ASCII text of the given length, in lines like real textarea content
+     */
+    private static String textPayload(int size) {
+        StringBuilder text = new StringBuilder(size);
+        String line = "The quick brown fox jumps over the lazy dog 0123456789\n";
+        while (text.length() < size) {
+            text.append(line);
+        }
+        text.setLength(size);
+        return text.toString();
+    }
+    
+    /**
+     * Microbenchmark: cost of a lookup miss, findElement in try/catch vs BasePage.isPresent()
+     */
+    @Test
+    public void benchmarkLookupMiss() {
+        System.out.println("Benchmark: element lookup miss, try/catch findElement vs isPresent");
+        
+        WebDriver driver = Waits.applyImplicitWait(WebDriverFactory.createDriverFromConfig(config));
+        try {
+            LookupProbe probe = new LookupProbe(driver);
+            probe.openPage();
+            By missing = By.id("no-such-element");
+            
+            // Warm-up both paths
+            for (int i = 0; i < LOOKUP_RUNS / 10; i++) {
+                probe.findWithTryCatch(missing);
+                probe.isPresent(missing);
+            }
+            
+            long[] tryCatch = measureLookups(() -> probe.findWithTryCatch(missing));
+            long[] optional = measureLookups(() -> probe.isPresent(missing));
+            
+            System.out.println(String.format("try/catch findElement: avg %6d us, %8d bytes allocated per miss",
+                                             tryCatch[0], tryCatch[1]));
+            System.out.println(String.format("isPresent:             avg %6d us, %8d bytes allocated per miss",
+                                             optional[0], optional[1]));
+            System.out.println("Implicit wait during the run: " + Waits.implicitWait().toMillis()
+                               + " ms (try/catch findElement waits it out on every miss, isPresent does not)");
+            assertTrue("Lookup time should be measured", tryCatch[0] > 0 && optional[0] > 0);
+        } finally {
+            driver.quit();
+        }
+    }
+    
+    /**
+     * Average latency (microseconds) and client-side allocation (bytes) per lookup;
+     * allocation is -1 when the JVM cannot report it
+     */
+    private long[] measureLookups(Runnable lookup) {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        boolean canMeasureAllocation = threads instanceof com.sun.management.ThreadMXBean;
+        long threadId = Thread.currentThread().getId();
+        
+        long allocatedBefore = canMeasureAllocation
+            ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) : 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUP_RUNS; i++) {
+            lookup.run();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long allocated = canMeasureAllocation
+            ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(threadId) - allocatedBefore : -LOOKUP_RUNS;
+        
+        return new long[] {TimeUnit.NANOSECONDS.toMicros(elapsedNanos / LOOKUP_RUNS), allocated / LOOKUP_RUNS};
+    }
+    
+    /**
+     * Page object exposing both lookup styles for the miss benchmark
+     */
+    private static class LookupProbe extends BasePage {
+        LookupProbe(WebDriver driver) {
+            super(driver);
+        }
+        
+        void openPage() {
+            openUrl("https://demo.guru99.com/test/radio.html");
+        }
+        
+        boolean findWithTryCatch(By locator) {
+            try {
+                return driver.findElement(locator) != null;
+            } catch (NoSuchElementException e) {
+                return false;
+            }
+        }
+        
+        @Override
+        public boolean isPresent(By locator) {
+            return super.isPresent(locator);
+        }
+    }
+    
+    /**
+     * Average time of the representative test on one session, which is quit afterwards
+     */
+    private long averageScenarioMillis(WebDriver driver) {
+        try {
+            // Warm-up run so the browser cache state is the same for both profiles
+            runRepresentativeTest(driver);
+
+            long totalNanos = 0;
+            for (int i = 0; i < SCENARIO_RUNS; i++) {
+                long start = System.nanoTime();
+                runRepresentativeTest(driver);
+                totalNanos += System.nanoTime() - start;
+            }
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos / SCENARIO_RUNS);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    /**
+     * Representative UI test: form interactions plus two more page loads
+     */
+    private void runRepresentativeTest(WebDriver driver) {
+        FormPage formPage = new FormPage(driver);
+        formPage.openPage();
+        formPage.selectRadioButton(2);
+        formPage.toggleCheckbox(1, true);
+        assertTrue("Radio button 2 should be selected", formPage.isRadioButtonSelected(2));
+        assertTrue("Checkbox 1 should be selected", formPage.isCheckboxSelected(1));
+
+        new LoginPage(driver).openPage();
+        new DragAndDropPage(driver).openPage();
+    }
+
+    /**
+     * Average time to start (not quit) a headless Chrome session in the given mode
+     */
+    private long averageStartupMillis(boolean shared) {
+        WebDriverFactory.setSharedDriverService(shared);
+        long totalNanos = 0;
+        for (int i = 0; i < SESSIONS_PER_MODE; i++) {
+            long start = System.nanoTime();
+            WebDriver driver = WebDriverFactory.createHeadlessChromeDriver();
+            totalNanos += System.nanoTime() - start;
+            driver.quit();
+        }
+        return TimeUnit.NANOSECONDS.toMillis(totalNanos / SESSIONS_PER_MODE);
+    }
+}
@@ -0,0 +1,83 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptKey;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A page function registered once per session and then called by handle.
+ * The call goes through a short pinned caller script (ScriptKey); the function body
+ * itself is only sent when the current document does not have it yet. On Chromium it is
+ * also installed into every new document through Page.addScriptToEvaluateOnNewDocument,
+ * so it is sent once per session.
+ */
+public class PinnedScript {
+    private static final Map<WebDriver, Map<String, ScriptKey>> sessionKeys = new WeakHashMap<>();
+
+    private final String name;
+    private final String definition;
+    private final String caller;
+
+    /**
+     * Constructor
+     * @param name Unique function name, installed as window.__wd_[name]
+     * @param functionSource JavaScript function expression, e.g. "function(a, b) { ... }"
+     */
+    public PinnedScript(String name, String functionSource) {
+        String global = "window.__wd_" + name;
+        this.name = name;
+        this.definition = global + " = " + functionSource + ";";
+        this.caller = "if (typeof " + global + " !== 'function') { return {missing: true}; }" +
+                      "return {value: " + global + ".apply(null, arguments)};";
+    }
+
+    /**
+     * Call the function in the current document
+     * @param driver WebDriver instance
+     * @param args Function arguments
+     * @return Function result
+     */
+    @SuppressWarnings("unchecked")
+    public Object call(WebDriver driver, Object... args) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        ScriptKey key = keyFor(driver);
+
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(key, args);
+        if (result != null && Boolean.TRUE.equals(result.get("missing"))) {
+            // Document predates the registration (or no CDP): define it here once
+            js.executeScript(definition);
+            result = (Map<String, Object>) js.executeScript(key, args);
+        }
+        return result == null ? null : result.get("value");
+    }
+
+    private ScriptKey keyFor(WebDriver driver) {
+        synchronized (sessionKeys) {
+            Map<String, ScriptKey> keys = sessionKeys.computeIfAbsent(driver, d -> new HashMap<>());
+            ScriptKey key = keys.get(name);
+            if (key == null) {
+                key = ((JavascriptExecutor) driver).pin(caller);
+                keys.put(name, key);
+                installOnNewDocuments(driver);
+            }
+            return key;
+        }
+    }
+
+    private void installOnNewDocuments(WebDriver driver) {
+        if (!(driver instanceof ChromiumDriver)) {
+            return;
+        }
+        try {
+            ((ChromiumDriver) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                                                        Collections.singletonMap("source", definition));
+        } catch (RuntimeException e) {
+            System.err.println("Could not install script " + name + " on new documents: " + e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package pages;
 
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.ui.Select;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import utils.LearningBy;
 
 /**
  * Insurance Broker System Registration Page Object
@@ -23,6 +30,11 @@ public class RegisterPage extends BasePage {
     
     // License information
     private By fullLicenseRadioLocator = By.id("user_licencetype_t");
+    private LearningBy fullLicenseRadioCandidates = new LearningBy("RegisterPage.fullLicenseRadio",
+        fullLicenseRadioLocator,                                           // Original locator
+        By.id("licencetype_t"),                                            // Possible alternative locator (without user_ prefix)
+        By.xpath("//input[@type='radio' and @value='t']"),                 // Locate by value
+        By.xpath("//input[@type='radio' and contains(@id, 'licencetype')]")); // More loose matching
     private By licencePeriodSelectLocator = By.id("user_licenceperiod");
     private By occupationSelectLocator = By.id("user_occupation_id");
     
@@ -41,6 +53,20 @@ public class RegisterPage extends BasePage {
     private By createButtonLocator = By.name("submit");
     private By resetButtonLocator = By.xpath("//input[@type='reset']");
     
+    /**
+     * How registerUser fills the form
+     */
+    public enum FillMode {
+        /** Per-field waits, clear() and sendKeys() - real keystrokes */
+        KEYSTROKES,
+        /** All fields set in one script call, firing input/change events */
+        BULK
+    }
+    
+    // Network-idle wait after submitting the form
+    private static final long SUBMIT_QUIET_MILLIS = 300;
+    private static final int MAX_BACKGROUND_REQUESTS = 1;
+    
     /**
      * Constructor
      * @param driver WebDriver instance
@@ -49,11 +75,19 @@ public class RegisterPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the create button at the end of the form is clickable
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.elementToBeClickable(createButtonLocator);
+    }
+    
     /**
      * Open registration page
      */
     public RegisterPage openPage() {
-        driver.get(PAGE_URL);
+        openUrl(PAGE_URL);
         System.out.println("Opened registration page: " + PAGE_URL);
         return this;
     }
@@ -63,7 +97,7 @@ public class RegisterPage extends BasePage {
      */
     public RegisterPage selectTitle(String title) {
         try {
-            new Select(waitForElementVisible(titleSelectLocator)).selectByVisibleText(title);
+            selectOptionByText(titleSelectLocator, title);
             System.out.println("Selected title: " + title);
         } catch (Exception e) {
             System.err.println("Failed to select title: " + e.getMessage());
@@ -103,9 +137,9 @@ public class RegisterPage extends BasePage {
      */
     public RegisterPage setDateOfBirth(String year, String month, String day) {
         try {
-            new Select(waitForElementVisible(yearSelectLocator)).selectByValue(year);
-            new Select(waitForElementVisible(monthSelectLocator)).selectByValue(month);
-            new Select(waitForElementVisible(daySelectLocator)).selectByValue(day);
+            selectOptionByValue(yearSelectLocator, year);
+            selectOptionByValue(monthSelectLocator, month);
+            selectOptionByValue(daySelectLocator, day);
             System.out.println("Set date of birth: " + year + "-" + month + "-" + day);
         } catch (Exception e) {
             System.err.println("Failed to set date of birth: " + e.getMessage());
@@ -118,33 +152,17 @@ public class RegisterPage extends BasePage {
      */
     public RegisterPage selectFullLicense() {
         try {
-            // Try multiple possible locators
-            By[] possibleLocators = {
-                fullLicenseRadioLocator,                                   // Original locator
-                By.id("licencetype_t"),                                   // Possible alternative locator (without user_ prefix)
-                By.xpath("//input[@type='radio' and @value='t']"),       // Locate by value
-                By.xpath("//input[@type='radio' and contains(@id, 'licencetype')]") // More loose matching
-            };
-            
-            boolean found = false;
-            for (By locator : possibleLocators) {
-                try {
-                    WebElement element = driver.findElement(locator);
-                    // Use JavaScript click to avoid element being obscured by other elements
-                    JavascriptExecutor js = (JavascriptExecutor) driver;
-                    js.executeScript("arguments[0].click();", element);
-                    System.out.println("Successfully selected license type, using locator: " + locator);
-                    found = true;
-                    break;
-                } catch (NoSuchElementException e) {
-                    // Continue to try next locator
-                    continue;
-                }
-            }
-            
-            if (!found) {
+            // Try all possible locators in one call, the usual winner first
+            Optional<WebElement> radio = find(fullLicenseRadioCandidates);
+            if (!radio.isPresent()) {
                 // If all attempts fail, page structure may have changed, but we continue testing
                 System.out.println("Warning: License type selection element not found, continuing test flow");
+            } else {
+                // Use JavaScript click to avoid element being obscured by other elements
+                JavascriptExecutor js = (JavascriptExecutor) driver;
+                js.executeScript("arguments[0].click();", radio.get());
+                System.out.println("Successfully selected license type, using locator: "
+                                   + fullLicenseRadioCandidates.getLastWinner());
             }
         } catch (Exception e) {
             System.err.println("Failed to select license type: " + e.getMessage());
@@ -157,7 +175,7 @@ public class RegisterPage extends BasePage {
      */
     public RegisterPage selectLicencePeriod(String years) {
         try {
-            new Select(waitForElementVisible(licencePeriodSelectLocator)).selectByValue(years);
+            selectOptionByValue(licencePeriodSelectLocator, years);
             System.out.println("Selected license period: " + years + " years");
         } catch (Exception e) {
             System.err.println("Failed to select license period: " + e.getMessage());
@@ -170,7 +188,7 @@ public class RegisterPage extends BasePage {
      */
     public RegisterPage selectOccupation(String occupation) {
         try {
-            new Select(waitForElementVisible(occupationSelectLocator)).selectByVisibleText(occupation);
+            selectOptionByText(occupationSelectLocator, occupation);
             System.out.println("Selected occupation: " + occupation);
         } catch (Exception e) {
             System.err.println("Failed to select occupation: " + e.getMessage());
@@ -215,9 +233,38 @@ public class RegisterPage extends BasePage {
     }
     
     /**
-     * Complete registration process
+     * Complete registration process, typing every field
      */
     public void registerUser(String email, String password) {
+        registerUser(email, password, FillMode.KEYSTROKES);
+    }
+    
+    /**
+     * Complete registration process
+     * @param mode How the form is filled
+     */
+    public void registerUser(String email, String password, FillMode mode) {
+        startNetworkTracking();
+        fillRegistrationForm(email, password, mode);
+        
+        // Wait for registration to complete: submit, redirect and follow-up requests have settled
+        waitForPageChange(this::clickCreate);
+        waitForNetworkIdle(SUBMIT_QUIET_MILLIS, MAX_BACKGROUND_REQUESTS);
+        if (getCurrentUrl().contains("index.php")) {
+            System.out.println("Registration successful, redirected to login page");
+        } else {
+            System.err.println("Registration did not redirect to login page: " + getCurrentUrl());
+        }
+    }
+    
+    /**
+     * Fill the registration form with the standard test user without submitting it
+     * @param mode How the form is filled
+     */
+    public RegisterPage fillRegistrationForm(String email, String password, FillMode mode) {
+        if (mode == FillMode.BULK) {
+            return fillForm(registrationValues(email, password));
+        }
         selectTitle("Mr");
         enterFirstname("Test");
         enterSurname("User");
@@ -228,14 +275,70 @@ public class RegisterPage extends BasePage {
         selectOccupation("Academic");
         setAddress("123 Test St", "Test City", "Test County", "TE12 3ST");
         setAccountInfo(email, password);
-        clickCreate();
-        
-        // Wait for registration to complete, redirect to login page
-        try {
-            waitForUrlContains("index.php");
-            System.out.println("Registration successful, redirected to login page");
-        } catch (Exception e) {
-            System.err.println("Timeout waiting for redirect: " + e.getMessage());
+        return this;
+    }
+    
+    /**
+     * Fill fields in one script call (bulk mode)
+     * @param values Field locators mapped to values; "true"/"false" for radios
+     */
+    public RegisterPage fillForm(Map<By, String> values) {
+        List<By> failed = fillFields(values);
+        if (failed.isEmpty()) {
+            System.out.println("Filled " + values.size() + " fields in one call");
+        } else {
+            System.err.println("Failed to fill fields: " + failed);
         }
+        return this;
+    }
+    
+    /**
+     * Values of the standard test user, in form order, keyed by control id, or by name for
+     * the date of birth dropdowns; "true" checks a radio. UserProvisioner posts the same values.
+     * @param email Account email
+     * @param password Account password
+     * @return Control id or name mapped to value
+     */
+    public static Map<String, String> registrationFields(String email, String password) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("user_title", "Mr");
+        fields.put("user_firstname", "Test");
+        fields.put("user_surname", "User");
+        fields.put("user_phone", "1234567890");
+        fields.put("year", "1990");
+        fields.put("month", "1");
+        fields.put("date", "1");
+        fields.put("user_licencetype_t", "true");
+        fields.put("user_licenceperiod", "5");
+        fields.put("user_occupation_id", "Academic");
+        fields.put("user_address_attributes_street", "123 Test St");
+        fields.put("user_address_attributes_city", "Test City");
+        fields.put("user_address_attributes_county", "Test County");
+        fields.put("user_address_attributes_postcode", "TE12 3ST");
+        fields.put("user_user_detail_attributes_email", email);
+        fields.put("user_user_detail_attributes_password", password);
+        fields.put("user_user_detail_attributes_password_confirmation", password);
+        return fields;
+    }
+    
+    /**
+     * registrationFields as field locators
+     */
+    private Map<By, String> registrationValues(String email, String password) {
+        List<By> dateOfBirth = Arrays.asList(yearSelectLocator, monthSelectLocator, daySelectLocator);
+        Map<By, String> values = new LinkedHashMap<>();
+        for (Map.Entry<String, String> field : registrationFields(email, password).entrySet()) {
+            By byName = By.name(field.getKey());
+            values.put(dateOfBirth.contains(byName) ? byName : By.id(field.getKey()), field.getValue());
+        }
+        return values;
+    }
+    
+    /**
+     * Read back the account email field
+     * @return Current value of the email input
+     */
+    public String getEnteredEmail() {
+        return find(emailInputLocator).map(email -> email.getAttribute("value")).orElse(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package utils;
+
+import org.junit.rules.ExternalResource;
+
+/**
+ * JUnit fixture for tests that need a registered insurance user. The user is registered
+ * over HTTP by UserProvisioner on first use, so declaring the rule costs nothing for
+ * tests that never ask for it.
+ * <pre>
+ * &#64;Rule public RegisteredUser user = new RegisteredUser();
+ * ...
+ * loginPage.login(user.getEmail(), user.getPassword());
+ * </pre>
+ * As a &#64;ClassRule the user is shared by all tests of the class.
+ */
+public class RegisteredUser extends ExternalResource {
+    private static final UserProvisioner provisioner = new UserProvisioner();
+
+    private UserProvisioner.User user;
+
+    @Override
+    protected void after() {
+        // The application has no way to delete accounts; the next test gets a fresh one
+        user = null;
+    }
+
+    /**
+     * @return Registered user, provisioned on first call
+     */
+    public synchronized UserProvisioner.User get() {
+        if (user == null) {
+            user = provisioner.provision();
+        }
+        return user;
+    }
+
+    public String getEmail() {
+        return get().getEmail();
+    }
+
+    public String getPassword() {
+        return get().getPassword();
+    }
+}
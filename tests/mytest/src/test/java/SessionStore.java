@@ -0,0 +1,222 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.json.Json;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Session-state store built on CookieManager: captures cookies plus localStorage and
+ * sessionStorage after a login, keeps them on disk with a TTL, and injects them into a
+ * fresh session before its first navigation, so tests can skip the UI login.
+ */
+public class SessionStore {
+    private static final String STORE_DIR = ".session-cache";
+    private static final Json JSON = new Json();
+
+    // Reads origin and both storages of the current document
+    private static final String CAPTURE_STORAGE_SCRIPT =
+        "var dump = function(storage) {" +
+        "  var items = {};" +
+        "  for (var i = 0; i < storage.length; i++) { items[storage.key(i)] = storage.getItem(storage.key(i)); }" +
+        "  return items;" +
+        "};" +
+        "return {origin: location.origin, localStorage: dump(window.localStorage), sessionStorage: dump(window.sessionStorage)};";
+
+    // Writes both storages when the document has the captured origin
+    private static final String RESTORE_STORAGE_TEMPLATE =
+        "(function(state) {" +
+        "  if (location.origin !== state.origin) { return; }" +
+        "  Object.keys(state.localStorage).forEach(function(key) { localStorage.setItem(key, state.localStorage[key]); });" +
+        "  Object.keys(state.sessionStorage).forEach(function(key) { sessionStorage.setItem(key, state.sessionStorage[key]); });" +
+        "})(%s);";
+
+    private final WebDriver driver;
+    private final CookieManager cookieManager;
+
+    /**
+     * Constructor
+     * @param driver WebDriver instance
+     */
+    public SessionStore(WebDriver driver) {
+        this.driver = driver;
+        this.cookieManager = new CookieManager(driver);
+    }
+
+    /**
+     * Capture the state of the current page's session and write it to disk
+     * @param name Name of the stored session, e.g. "insurance-user"
+     */
+    @SuppressWarnings("unchecked")
+    public void capture(String name) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_STORAGE_SCRIPT);
+
+        // One call; on Chromium this includes the cookies of every domain, not just the current one
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Cookie cookie : cookieManager.snapshot()) {
+            cookies.add(cookieToMap(cookie));
+        }
+
+        Map<String, Object> state = new HashMap<>(storage);
+        state.put("capturedAt", Instant.now().toEpochMilli());
+        state.put("cookies", cookies);
+
+        File file = storeFile(name);
+        file.getParentFile().mkdirs();
+        try {
+            Files.write(file.toPath(), JSON.toJson(state).getBytes(StandardCharsets.UTF_8));
+            System.out.println("Captured session '" + name + "': " + cookies.size() + " cookies, origin " + storage.get("origin"));
+        } catch (IOException e) {
+            System.err.println("Failed to write session '" + name + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Inject a stored session into this (fresh) browser session, then navigate.
+     * Cookies and storage are in place before the first request of the navigation.
+     * @param name Name of the stored session
+     * @param ttl Maximum age of the stored session
+     * @param navigation First navigation, e.g. homePage::openPage
+     * @return Whether a stored session was injected; false if missing or expired (nothing is navigated then)
+     */
+    @SuppressWarnings("unchecked")
+    public boolean restore(String name, Duration ttl, Runnable navigation) {
+        Map<String, Object> state = load(name);
+        if (state == null) {
+            return false;
+        }
+        long ageMillis = Instant.now().toEpochMilli() - ((Number) state.get("capturedAt")).longValue();
+        if (ageMillis > ttl.toMillis()) {
+            System.out.println("Stored session '" + name + "' expired (" + ageMillis / 1000 + " s old)");
+            return false;
+        }
+
+        List<Cookie> cookies = new ArrayList<>();
+        for (Object cookie : (List<Object>) state.get("cookies")) {
+            cookies.add(mapToCookie((Map<String, Object>) cookie));
+        }
+        String origin = (String) state.get("origin");
+        Map<String, Object> storage = new HashMap<>();
+        storage.put("origin", origin);
+        storage.put("localStorage", state.get("localStorage"));
+        storage.put("sessionStorage", state.get("sessionStorage"));
+        String storageScript = String.format(RESTORE_STORAGE_TEMPLATE, JSON.toJson(storage));
+
+        if (driver instanceof ChromiumDriver) {
+            restoreThroughDevTools((ChromiumDriver) driver, cookies, storageScript, navigation);
+        } else {
+            // Cookies can only be added for the current document's domain: visit the origin first
+            driver.get(origin);
+            cookieManager.setAll(cookiesFor(URI.create(origin).getHost(), cookies));
+            ((JavascriptExecutor) driver).executeScript(storageScript);
+            navigation.run();
+        }
+        System.out.println("Restored session '" + name + "': " + cookies.size() + " cookies, " + ageMillis / 1000 + " s old");
+        return true;
+    }
+
+    /**
+     * Delete a stored session
+     * @param name Name of the stored session
+     */
+    public static void discard(String name) {
+        storeFile(name).delete();
+    }
+
+    /**
+     * Chromium: cookies in one bulk set and storage through a new-document script, both
+     * before the navigation; the script is removed again afterwards so it does not outlive
+     * this navigation in a pooled session
+     */
+    private void restoreThroughDevTools(ChromiumDriver chromium, List<Cookie> cookies, String storageScript,
+                                        Runnable navigation) {
+        cookieManager.setAll(cookies);
+
+        Object scriptId = chromium.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                                                     Collections.singletonMap("source", storageScript)).get("identifier");
+        try {
+            navigation.run();
+        } finally {
+            chromium.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                                       Collections.singletonMap("identifier", scriptId));
+        }
+    }
+
+    /**
+     * Cookies the document at host may set: other domains (captured on Chromium) are dropped
+     */
+    private static List<Cookie> cookiesFor(String host, List<Cookie> cookies) {
+        List<Cookie> matching = new ArrayList<>();
+        for (Cookie cookie : cookies) {
+            String domain = cookie.getDomain() == null ? host : cookie.getDomain().replaceFirst("^\\.", "");
+            if (host.equalsIgnoreCase(domain) || host.toLowerCase().endsWith("." + domain.toLowerCase())) {
+                matching.add(cookie);
+            }
+        }
+        if (matching.size() < cookies.size()) {
+            System.out.println("Skipped " + (cookies.size() - matching.size()) + " cookies of other domains than " + host);
+        }
+        return matching;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> load(String name) {
+        File file = storeFile(name);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            return JSON.toType(json, Json.MAP_TYPE);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Failed to read session '" + name + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static File storeFile(String name) {
+        return new File(STORE_DIR, name + ".json");
+    }
+
+    private static Map<String, Object> cookieToMap(Cookie cookie) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", cookie.getName());
+        map.put("value", cookie.getValue());
+        map.put("domain", cookie.getDomain());
+        map.put("path", cookie.getPath());
+        map.put("secure", cookie.isSecure());
+        map.put("httpOnly", cookie.isHttpOnly());
+        map.put("sameSite", cookie.getSameSite());
+        map.put("expiry", cookie.getExpiry() == null ? null : cookie.getExpiry().getTime());
+        return map;
+    }
+
+    private static Cookie mapToCookie(Map<String, Object> map) {
+        Cookie.Builder builder = new Cookie.Builder((String) map.get("name"), (String) map.get("value"))
+            .domain((String) map.get("domain"))
+            .path((String) map.get("path"))
+            .isSecure(Boolean.TRUE.equals(map.get("secure")))
+            .isHttpOnly(Boolean.TRUE.equals(map.get("httpOnly")));
+        if (map.get("sameSite") != null) {
+            builder.sameSite((String) map.get("sameSite"));
+        }
+        if (map.get("expiry") != null) {
+            builder.expiresOn(new Date(((Number) map.get("expiry")).longValue()));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,146 @@
+package utils;
+
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.net.PortProber;
+import org.openqa.selenium.remote.service.DriverService;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-lived driver services shared by all sessions of the JVM.
+ * Selenium stops a driver service when its session quits, so the shared
+ * services ignore stop() and are only stopped by the shutdown hook.
+ */
+public class SharedDriverServices {
+    private static SharedChromeDriverService chromeService;
+    private static SharedGeckoDriverService geckoService;
+    private static boolean shutdownHookRegistered = false;
+
+    private SharedDriverServices() {
+    }
+
+    /**
+     * Get the shared chromedriver service, starting it on first use
+     * @return Running ChromeDriverService
+     */
+    public static synchronized ChromeDriverService chrome() {
+        if (chromeService == null || !chromeService.isRunning()) {
+            File executable = executable("chromedriver", DriverBinaryResolver.resolveChromeDriver());
+            chromeService = startService(() -> new SharedChromeDriverService(executable, PortProber.findFreePort()));
+        }
+        return chromeService;
+    }
+
+    /**
+     * Lease the shared geckodriver service.
+     * geckodriver serves one session at a time, so this returns null while
+     * another Firefox session still holds the service.
+     * @return Running GeckoDriverService, or null when it is busy
+     */
+    public static synchronized GeckoDriverService leaseGecko() {
+        if (geckoService == null || !geckoService.isRunning()) {
+            File executable = executable("geckodriver", DriverBinaryResolver.resolveGeckoDriver());
+            geckoService = startService(() -> new SharedGeckoDriverService(executable, PortProber.findFreePort()));
+        }
+        if (geckoService.inUse) {
+            return null;
+        }
+        geckoService.inUse = true;
+        return geckoService;
+    }
+
+    /**
+     * Stop all shared services
+     */
+    public static synchronized void stopAll() {
+        if (chromeService != null) {
+            chromeService.shutdown();
+            chromeService = null;
+        }
+        if (geckoService != null) {
+            geckoService.shutdown();
+            geckoService = null;
+        }
+    }
+
+    private static File executable(String driver, String path) {
+        if (path == null) {
+            throw new IllegalStateException("No " + driver + " path to start a shared service with; "
+                                            + "disable the shared driver service");
+        }
+        return new File(path);
+    }
+
+    private static <S extends DriverService> S startService(ServiceCreator<S> creator) {
+        registerShutdownHook();
+        long start = System.nanoTime();
+        try {
+            S service = creator.create();
+            service.start();
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            System.out.println("Started shared driver service at " + service.getUrl() + " in " + elapsedMillis + " ms");
+            return service;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start shared driver service", e);
+        }
+    }
+
+    private static void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SharedDriverServices::stopAll, "shared-driver-services-shutdown"));
+            shutdownHookRegistered = true;
+        }
+    }
+
+    private static List<String> portArgs(int port) {
+        return Collections.singletonList("--port=" + port);
+    }
+
+    private interface ServiceCreator<S> {
+        S create() throws IOException;
+    }
+
+    /**
+     * chromedriver service that outlives the sessions created against it
+     */
+    private static class SharedChromeDriverService extends ChromeDriverService {
+        SharedChromeDriverService(File executable, int port) throws IOException {
+            super(executable, port, DEFAULT_TIMEOUT, portArgs(port), Collections.emptyMap());
+        }
+
+        @Override
+        public void stop() {
+            // Called by Selenium when a session quits - keep the process running
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+
+    /**
+     * geckodriver service that outlives the sessions created against it
+     */
+    private static class SharedGeckoDriverService extends GeckoDriverService {
+        private volatile boolean inUse = false;
+
+        SharedGeckoDriverService(File executable, int port) throws IOException {
+            super(executable, port, DEFAULT_TIMEOUT, portArgs(port), Collections.emptyMap());
+        }
+
+        @Override
+        public void stop() {
+            // Called by Selenium when the session quits - free the service for the next session
+            inUse = false;
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Duration and outcome of every test run, kept in a local history file:
+ * one line per run, "epochMillis TAB className#testName TAB durationMillis TAB outcome".
+ * The Gradle test tasks append to it after every test of every class (see build.gradle);
+ * sharded runs write to .test-history/pending/ instead, so every shard plans from the same
+ * history, and the mergeShardHistory task appends them afterwards.
+ * Expected durations and recent failures drive the order of DependencyRunner and the
+ * shard split of TestShards.
+ */
+public class TestHistory {
+    private static final File HISTORY_FILE = new File(".test-history", "history.tsv");
+
+    // Expected duration is the average of the latest runs; a failure in the latest few counts as recent
+    // (RECENT_RUNS must not exceed DURATION_RUNS, the number of runs kept per test)
+    private static final int DURATION_RUNS = 5;
+    private static final int RECENT_RUNS = 3;
+
+    private static TestHistory instance;
+
+    private final Map<String, Deque<Run>> runs = new HashMap<>();
+
+    /**
+     * Test outcome
+     */
+    public enum Outcome {
+        PASSED,
+        FAILED
+    }
+
+    private TestHistory() {
+    }
+
+    /**
+     * Get the history of this JVM, loading the file on first use
+     * @return Test history
+     */
+    public static synchronized TestHistory get() {
+        if (instance == null) {
+            instance = new TestHistory();
+            instance.load();
+        }
+        return instance;
+    }
+
+    /**
+     * Expected duration of a test from its latest runs
+     * @param testId Test id, e.g. "Guru99Tests#testK_HoverTest"
+     * @return Average duration in milliseconds, or empty when the test has no history
+     */
+    public synchronized OptionalLong expectedMillis(String testId) {
+        Deque<Run> testRuns = runs.get(testId);
+        if (testRuns == null || testRuns.isEmpty()) {
+            return OptionalLong.empty();
+        }
+        long total = 0;
+        for (Run run : testRuns) {
+            total += run.durationMillis;
+        }
+        return OptionalLong.of(total / testRuns.size());
+    }
+
+    /**
+     * Check if a test failed in any of its latest runs
+     * @param testId Test id
+     * @return True if it failed recently
+     */
+    public synchronized boolean recentlyFailed(String testId) {
+        Deque<Run> testRuns = runs.get(testId);
+        if (testRuns == null) {
+            return false;
+        }
+        int count = 0;
+        for (Run run : testRuns) {
+            if (count++ == RECENT_RUNS) {
+                break;
+            }
+            if (run.outcome == Outcome.FAILED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expected duration of a whole test class: the sum over its tests with history
+     * @param className Fully qualified class name
+     * @return Expected duration in milliseconds, 0 without history
+     */
+    public synchronized long expectedClassMillis(String className) {
+        long total = 0;
+        for (String testId : runs.keySet()) {
+            if (testId.startsWith(className + "#")) {
+                total += expectedMillis(testId).orElse(0);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return Names of all test classes with history
+     */
+    public synchronized Set<String> getClassNames() {
+        Set<String> classNames = new TreeSet<>();
+        for (String testId : runs.keySet()) {
+            classNames.add(testId.substring(0, testId.indexOf('#')));
+        }
+        return classNames;
+    }
+
+    private void load() {
+        if (!HISTORY_FILE.exists()) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(HISTORY_FILE.toPath(), StandardCharsets.UTF_8)) {
+                String[] fields = line.split("\t");
+                if (fields.length == 4 && fields[1].contains("#")) {
+                    add(fields[1], new Run(Long.parseLong(fields[2]), Outcome.valueOf(fields[3])));
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Failed to load test history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Keep the latest runs first, as many as the duration average uses
+     */
+    private void add(String testId, Run run) {
+        Deque<Run> testRuns = runs.computeIfAbsent(testId, id -> new ArrayDeque<>());
+        testRuns.addFirst(run);
+        if (testRuns.size() > DURATION_RUNS) {
+            testRuns.removeLast();
+        }
+    }
+
+    private static class Run {
+        private final long durationMillis;
+        private final Outcome outcome;
+
+        Run(long durationMillis, Outcome outcome) {
+            this.durationMillis = durationMillis;
+            this.outcome = outcome;
+        }
+    }
+}
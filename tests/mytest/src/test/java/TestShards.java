@@ -0,0 +1,87 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits tests across Gradle test forks. Each fork runs with the system properties
+ * shard.index (1..shard.count) and shard.count, computes the same plan from the same
+ * history, and keeps its own part.
+ * <p>
+ * Units (tests that must run in the same fork, e.g. a dependency chain) are bin-packed
+ * longest first onto the least loaded shard, which balances expected durations.
+ */
+public class TestShards {
+    private TestShards() {
+    }
+
+    /**
+     * @return Whether this JVM runs one shard of a split run
+     */
+    public static boolean isSharded() {
+        return count() > 1;
+    }
+
+    /**
+     * @return This JVM's shard, 1 to count()
+     */
+    public static int index() {
+        return Integer.getInteger("shard.index", 1);
+    }
+
+    /**
+     * @return Number of shards
+     */
+    public static int count() {
+        return Math.max(1, Integer.getInteger("shard.count", 1));
+    }
+
+    /**
+     * Select the units of this shard
+     * @param units All units, in any order
+     * @param expectedMillis Expected duration of a unit
+     * @param name Stable unit name, breaks ties so every shard computes the same plan
+     * @param firstShardMillis Expected duration already assigned to shard 1, e.g. whole
+     *                         test classes that are not split
+     * @return Units of this shard; all units when the run is not sharded
+     */
+    public static <T> List<T> select(List<T> units, ToLongFunction<T> expectedMillis, Function<T, String> name,
+                                     long firstShardMillis) {
+        if (!isSharded()) {
+            return units;
+        }
+        if (index() < 1 || index() > count()) {
+            throw new IllegalArgumentException("shard.index must be between 1 and " + count() + ": " + index());
+        }
+
+        List<T> sorted = new ArrayList<>(units);
+        sorted.sort(Comparator.comparingLong(expectedMillis).reversed().thenComparing(name));
+
+        long[] loads = new long[count()];
+        loads[0] = firstShardMillis;
+        List<T> selected = new ArrayList<>();
+        for (T unit : sorted) {
+            int lightest = 0;
+            for (int shard = 1; shard < loads.length; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += expectedMillis.applyAsLong(unit);
+            if (lightest == index() - 1) {
+                selected.add(unit);
+            }
+        }
+
+        long total = 0;
+        for (long load : loads) {
+            total += load;
+        }
+        System.out.println("Shard " + index() + "/" + count() + ": " + selected.size() + " of " + units.size()
+                           + " units, expected " + loads[index() - 1] / 1000 + " s of " + total / 1000 + " s");
+        return selected;
+    }
+}
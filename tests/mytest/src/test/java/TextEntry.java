@@ -0,0 +1,57 @@
+package utils;
+
+/**
+ * Text entry strategies. Keystrokes cost one key event per character, so long
+ * strings are inserted in bulk instead; the switch is a length threshold from ConfigReader.
+ */
+public class TextEntry {
+    private static ConfigReader config;
+
+    /**
+     * How text gets into a field
+     */
+    public enum Strategy {
+        /** Real key events through sendKeys - cost grows with the text length */
+        KEYSTROKES,
+        /** One CDP Input.insertText call into the focused field (Chromium; value-set elsewhere) */
+        INSERT_TEXT,
+        /** Value set through the native setter plus synthetic input/change events */
+        SET_VALUE
+    }
+
+    private TextEntry() {
+    }
+
+    /**
+     * Use an already loaded configuration instead of reading the file again
+     * @param configReader Configuration reader instance
+     */
+    public static synchronized void configure(ConfigReader configReader) {
+        config = configReader;
+    }
+
+    /**
+     * Choose the strategy for a text of the given length: keystrokes up to the
+     * configured threshold, bulk insert above it
+     * @param length Text length
+     * @return Strategy
+     */
+    public static Strategy forLength(int length) {
+        return length <= keystrokeMaxLength() ? Strategy.KEYSTROKES : Strategy.INSERT_TEXT;
+    }
+
+    /**
+     * Get the longest text still typed as keystrokes
+     * @return Length threshold
+     */
+    public static int keystrokeMaxLength() {
+        return config().getTextEntryKeystrokeMaxLength();
+    }
+
+    private static synchronized ConfigReader config() {
+        if (config == null) {
+            config = new ConfigReader();
+        }
+        return config;
+    }
+}
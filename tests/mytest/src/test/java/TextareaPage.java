@@ -1,9 +1,10 @@
 package pages;
 
 import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import utils.TextEntry;
+import java.util.Optional;
 
 /**
  * Textarea test page object
@@ -14,6 +15,7 @@ public class TextareaPage extends BasePage {
     // Updated to correct element locator
     private By textareaLocator = By.id("input_6"); // Modified to the actual ID on the webpage
     private By submitButtonLocator = By.id("input_2"); // Submit button ID
+    private By createCourseButtonLocator = By.id("getjob");
     
     /**
      * Constructor
@@ -23,35 +25,53 @@ public class TextareaPage extends BasePage {
         super(driver);
     }
     
+    /**
+     * Ready when the "Create A Course" button can be clicked
+     */
+    @Override
+    protected ExpectedCondition<?> readyCondition() {
+        return ExpectedConditions.elementToBeClickable(createCourseButtonLocator);
+    }
+    
     /**
      * Open Textarea test page
      * @return Current page instance, supports chained calls
      */
     public TextareaPage openPage() {
-        driver.get(pageUrl);
+        openUrl(pageUrl);
         System.out.println("Opened Textarea test page: " + pageUrl);
         return this;
     }
     
     /**
-     * Enter text in textarea
+     * Enter text in textarea; long text is inserted in bulk (see TextEntry)
      * @param text Text to input
      * @return Current page instance, supports chained calls
      */
     public TextareaPage enterText(String text) {
+        return enterText(text, TextEntry.forLength(text.length()));
+    }
+    
+    /**
+     * Enter text in textarea with the given strategy
+     * @param text Text to input
+     * @param strategy Text entry strategy
+     * @return Current page instance, supports chained calls
+     */
+    public TextareaPage enterText(String text, TextEntry.Strategy strategy) {
         try {
             // Click "Create A Course" button to display form containing textarea
-            WebElement createCourseBtn = driver.findElement(By.id("getjob"));
+            WebElement createCourseBtn = find(createCourseButtonLocator)
+                .orElseThrow(() -> new NoSuchElementException("'Create A Course' button not found"));
             createCourseBtn.click();
             System.out.println("Clicked 'Create A Course' button");
             
             // Wait for textarea to display
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            WebElement textarea = wait.until(ExpectedConditions.visibilityOfElementLocated(textareaLocator));
+            WebElement textarea = waitForElementVisible(textareaLocator);
             
-            textarea.clear();
-            textarea.sendKeys(text);
-            System.out.println("Entered text in textarea: " + (text.length() > 30 ? text.substring(0, 27) + "..." : text));
+            enterText(textarea, text, strategy);
+            System.out.println("Entered text in textarea (" + strategy + "): "
+                               + (text.length() > 30 ? text.substring(0, 27) + "..." : text));
             return this;
         } catch (Exception e) {
             System.err.println("Failed to enter text in textarea: " + e.getMessage());
@@ -65,8 +85,12 @@ public class TextareaPage extends BasePage {
      */
     public String getTextContent() {
         try {
-            WebElement textarea = driver.findElement(textareaLocator);
-            return textarea.getAttribute("value");
+            Optional<WebElement> textarea = find(textareaLocator);
+            if (!textarea.isPresent()) {
+                System.err.println("Failed to get textarea content: textarea not found");
+                return "";
+            }
+            return textarea.get().getAttribute("value");
         } catch (Exception e) {
             System.err.println("Failed to get textarea content: " + e.getMessage());
             return "";
@@ -79,7 +103,8 @@ public class TextareaPage extends BasePage {
      */
     public TextareaPage submitForm() {
         try {
-            WebElement submitButton = driver.findElement(submitButtonLocator);
+            WebElement submitButton = find(submitButtonLocator)
+                .orElseThrow(() -> new NoSuchElementException("Submit button not found"));
             submitButton.click();
             System.out.println("Clicked submit button");
             return this;
@@ -96,14 +121,17 @@ public class TextareaPage extends BasePage {
     public boolean isValidationDisplayed() {
         try {
             // Clear textarea
-            WebElement textarea = driver.findElement(textareaLocator);
-            textarea.clear();
+            Optional<WebElement> textarea = find(textareaLocator);
+            if (!textarea.isPresent()) {
+                return false;
+            }
+            textarea.get().clear();
             
             // Click elsewhere to trigger validation
-            driver.findElement(By.tagName("body")).click();
+            find(By.tagName("body")).ifPresent(WebElement::click);
             
             // Check if validation style is applied
-            return textarea.getAttribute("class").contains("validate-error");
+            return textarea.get().getAttribute("class").contains("validate-error");
         } catch (Exception e) {
             System.err.println("Failed to test validation function: " + e.getMessage());
             return false;
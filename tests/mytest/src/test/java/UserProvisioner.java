@@ -0,0 +1,297 @@
+package utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import pages.RegisterPage;
+
+/**
+ * Browserless user provisioning: registers insurance users by posting the registration
+ * form over HTTP, with the same field values RegisterPage fills in the browser
+ * (RegisterPage.registrationFields).
+ * One HttpClient is shared, so connections are reused and provisioning can run concurrently.
+ */
+public class UserProvisioner {
+    private static final String REGISTER_URL = "https://demo.guru99.com/insurance/v1/register.php";
+    private static final String DEFAULT_PASSWORD = "Password123";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
+
+    // Tag attributes may hold quoted '>'
+    private static final String ATTRIBUTES = "((?:[^>\"']|\"[^\"]*\"|'[^']*')*)";
+    private static final Pattern FORM_PATTERN =
+        Pattern.compile("<form\\b" + ATTRIBUTES + ">(.*?)</form>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern CONTROL_PATTERN =
+        Pattern.compile("<(input|select|textarea)\\b" + ATTRIBUTES + ">", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ATTRIBUTE_PATTERN =
+        Pattern.compile("([\\w:-]+)(?:\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+)))?");
+    private static final Pattern OPTION_PATTERN =
+        Pattern.compile("<option\\b" + ATTRIBUTES + ">(.*?)</option>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    // Redirects are checked, not followed
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+
+    private static final AtomicLong emailSequence = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * A registered user
+     */
+    public static class User {
+        private final String email;
+        private final String password;
+
+        public User(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        @Override
+        public String toString() {
+            return email;
+        }
+    }
+
+    /**
+     * Register a new user with a unique email, blocking until it is registered
+     * @return Registered user
+     */
+    public User provision() {
+        return join(provisionAsync());
+    }
+
+    /**
+     * Register several users concurrently
+     * @param count Number of users
+     * @return Registered users
+     */
+    public List<User> provision(int count) {
+        List<CompletableFuture<User>> pending = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            pending.add(provisionAsync());
+        }
+        return pending.stream().map(UserProvisioner::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Register a new user with a unique email
+     * @return Future completing with the user once the form post has redirected to the login page
+     */
+    public CompletableFuture<User> provisionAsync() {
+        return provisionAsync("test" + emailSequence.incrementAndGet() + "@example.com", DEFAULT_PASSWORD);
+    }
+
+    /**
+     * Register a user: load the form for its session cookie and field names, then post it
+     * @param email Account email
+     * @param password Account password
+     * @return Future completing with the user once the form post has redirected to the login page
+     */
+    public CompletableFuture<User> provisionAsync(String email, String password) {
+        HttpRequest formRequest = HttpRequest.newBuilder(URI.create(REGISTER_URL))
+            .timeout(REQUEST_TIMEOUT)
+            .GET()
+            .build();
+        return CLIENT.sendAsync(formRequest, HttpResponse.BodyHandlers.ofString())
+            .thenCompose(formResponse -> submit(formResponse, RegisterPage.registrationFields(email, password)))
+            .thenApply(response -> {
+                String location = response.headers().firstValue("Location").orElse("");
+                if (response.statusCode() / 100 != 3 || !location.contains("index.php")) {
+                    throw new IllegalStateException("Registration of " + email + " did not redirect to the login page: HTTP "
+                                                    + response.statusCode() + " " + location);
+                }
+                System.out.println("Provisioned user over HTTP: " + email);
+                return new User(email, password);
+            });
+    }
+
+    private CompletableFuture<HttpResponse<Void>> submit(HttpResponse<String> formResponse, Map<String, String> fields) {
+        if (formResponse.statusCode() != 200) {
+            throw new IllegalStateException("Registration form returned HTTP " + formResponse.statusCode());
+        }
+        Matcher form = registrationForm(formResponse.body());
+        URI action = formResponse.uri().resolve(attributes(form.group(1)).getOrDefault("action", REGISTER_URL));
+
+        HttpRequest.Builder post = HttpRequest.newBuilder(action)
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(encode(formBody(form.group(2), fields))));
+        String cookies = formResponse.headers().allValues("Set-Cookie").stream()
+            .map(cookie -> cookie.split(";", 2)[0])
+            .collect(Collectors.joining("; "));
+        if (!cookies.isEmpty()) {
+            post.header("Cookie", cookies);
+        }
+        return CLIENT.sendAsync(post.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * The form holding the account fields: group 1 is its attributes, group 2 its content
+     */
+    private static Matcher registrationForm(String page) {
+        Matcher form = FORM_PATTERN.matcher(page);
+        while (form.find()) {
+            if (form.group(2).contains("user_user_detail_attributes_email")) {
+                return form;
+            }
+        }
+        throw new IllegalStateException("Registration form not found in " + REGISTER_URL);
+    }
+
+    /**
+     * Name/value pairs the browser would submit. Only the known fields are filled, matched
+     * by control id or name; hidden inputs (e.g. a session token) and the first submit button
+     * keep their values. Any other required control, or a known field missing from the form,
+     * means the form changed and fails the registration.
+     */
+    private static List<String[]> formBody(String form, Map<String, String> fields) {
+        List<Map<String, String>> controls = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        Set<String> knownNames = new HashSet<>();
+        Matcher control = CONTROL_PATTERN.matcher(form);
+        while (control.find()) {
+            Map<String, String> attributes = attributes(control.group(2));
+            controls.add(attributes);
+            tags.add(control.group(1).toLowerCase());
+            ends.add(control.end());
+            if (fieldKey(attributes, fields) != null) {
+                knownNames.add(attributes.get("name"));
+            }
+        }
+
+        List<String[]> body = new ArrayList<>();
+        Set<String> filled = new HashSet<>();
+        boolean submitted = false;
+        for (int i = 0; i < controls.size(); i++) {
+            Map<String, String> attributes = controls.get(i);
+            String name = attributes.get("name");
+            if (name == null) {
+                continue;
+            }
+            String type = attributes.getOrDefault("type", "text").toLowerCase();
+            String key = fieldKey(attributes, fields);
+
+            if (key == null) {
+                if (type.equals("hidden")) {
+                    body.add(new String[] {name, attributes.getOrDefault("value", "")});
+                } else if (type.equals("submit") && !submitted) {
+                    body.add(new String[] {name, attributes.getOrDefault("value", "")});
+                    submitted = true;
+                } else if (attributes.containsKey("required") && !knownNames.contains(name)) {
+                    throw new IllegalStateException("Registration form has an unknown required control: " + name);
+                }
+                continue;
+            }
+            filled.add(key);
+            String wanted = fields.get(key);
+            if (type.equals("radio") || type.equals("checkbox")) {
+                if (Boolean.parseBoolean(wanted)) {
+                    body.add(new String[] {name, attributes.getOrDefault("value", "on")});
+                }
+            } else if (tags.get(i).equals("select")) {
+                String options = form.substring(ends.get(i), closingIndex(form, ends.get(i), "</select>"));
+                body.add(new String[] {name, optionValue(options, wanted)});
+            } else {
+                body.add(new String[] {name, wanted});
+            }
+        }
+
+        Set<String> missing = new LinkedHashSet<>(fields.keySet());
+        missing.removeAll(filled);
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Registration form has no controls for: " + missing);
+        }
+        return body;
+    }
+
+    /**
+     * Known field of a control: its id, else its name; null for other controls
+     */
+    private static String fieldKey(Map<String, String> attributes, Map<String, String> fields) {
+        if (fields.containsKey(attributes.get("id"))) {
+            return attributes.get("id");
+        }
+        return fields.containsKey(attributes.get("name")) ? attributes.get("name") : null;
+    }
+
+    /**
+     * Value of the option matching wanted by value or by text
+     */
+    private static String optionValue(String options, String wanted) {
+        Matcher option = OPTION_PATTERN.matcher(options);
+        while (option.find()) {
+            Map<String, String> attributes = attributes(option.group(1));
+            String text = option.group(2).replaceAll("<[^>]*>", "").trim();
+            String value = attributes.getOrDefault("value", text);
+            if (wanted.equals(value) || wanted.equals(text)) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("No option '" + wanted + "' in registration form dropdown");
+    }
+
+    private static int closingIndex(String html, int from, String closingTag) {
+        int index = html.toLowerCase().indexOf(closingTag, from);
+        return index < 0 ? html.length() : index;
+    }
+
+    private static Map<String, String> attributes(String tag) {
+        Map<String, String> attributes = new HashMap<>();
+        Matcher attribute = ATTRIBUTE_PATTERN.matcher(tag);
+        while (attribute.find()) {
+            String value = attribute.group(2) != null ? attribute.group(2)
+                : attribute.group(3) != null ? attribute.group(3)
+                : attribute.group(4) != null ? attribute.group(4) : "";
+            attributes.put(attribute.group(1).toLowerCase(), value);
+        }
+        return attributes;
+    }
+
+    private static String encode(List<String[]> body) {
+        return body.stream()
+            .map(pair -> URLEncoder.encode(pair[0], StandardCharsets.UTF_8) + "=" + URLEncoder.encode(pair[1], StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Report of event-driven waits that replaced fixed Thread.sleep calls:
+ * how long the old sleeps would have taken vs how long the waits actually took
+ */
+public class WaitReport {
+    private static final Map<String, SiteStats> sites = new TreeMap<>();
+
+    private WaitReport() {
+    }
+
+    /**
+     * Record one wait
+     * @param site Call site, e.g. "LoginPage.login"
+     * @param replacedSleepMillis Duration of the fixed sleep the wait replaced
+     * @param waitedMillis Time the event-driven wait actually took
+     */
+    public static synchronized void record(String site, long replacedSleepMillis, long waitedMillis) {
+        SiteStats stats = sites.computeIfAbsent(site, key -> new SiteStats());
+        stats.calls++;
+        stats.replacedSleepMillis += replacedSleepMillis;
+        stats.waitedMillis += waitedMillis;
+    }
+
+    /**
+     * Build the report
+     * @return Per-site and total sleep time removed
+     */
+    public static synchronized String summary() {
+        StringBuilder report = new StringBuilder("Sleep time removed by event-driven waits:");
+        long totalReplaced = 0;
+        long totalWaited = 0;
+        for (Map.Entry<String, SiteStats> entry : sites.entrySet()) {
+            SiteStats stats = entry.getValue();
+            totalReplaced += stats.replacedSleepMillis;
+            totalWaited += stats.waitedMillis;
+            report.append(String.format("%n  %-40s %3d calls, slept %6d ms before, waited %6d ms now",
+                entry.getKey(), stats.calls, stats.replacedSleepMillis, stats.waitedMillis));
+        }
+        report.append(String.format("%n  Total: %d ms of sleeping replaced by %d ms of waiting (%d ms removed)",
+            totalReplaced, totalWaited, totalReplaced - totalWaited));
+        return report.toString();
+    }
+
+    private static class SiteStats {
+        private int calls = 0;
+        private long replacedSleepMillis = 0;
+        private long waitedMillis = 0;
+    }
+}
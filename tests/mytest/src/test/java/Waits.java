@@ -0,0 +1,151 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Wait factory fed by ConfigReader.
+ * Waits poll with exponential backoff: very fast early polls that back off
+ * toward a ceiling, so fast elements do not cost a full 500 ms poll interval.
+ */
+public class Waits {
+    private static ConfigReader config;
+
+    /**
+     * Wait classes with their own timeouts
+     */
+    public enum WaitClass {
+        /** Page loads and readiness contracts (navigationWait) */
+        NAVIGATION,
+        /** Elements becoming visible or clickable (explicitWait) */
+        ELEMENT,
+        /** Confirming something is absent - kept short (absenceWait) */
+        ABSENCE
+    }
+
+    private Waits() {
+    }
+
+    /**
+     * Use an already loaded configuration instead of reading the file again
+     * @param configReader Configuration reader instance
+     */
+    public static synchronized void configure(ConfigReader configReader) {
+        config = configReader;
+    }
+
+    /**
+     * Create a backoff-polling wait for the given wait class
+     * @param driver WebDriver instance
+     * @param waitClass Wait class
+     * @return Configured WebDriverWait
+     */
+    public static WebDriverWait forClass(WebDriver driver, WaitClass waitClass) {
+        return forTimeout(driver, timeout(waitClass));
+    }
+
+    /**
+     * Create a backoff-polling wait with an explicit timeout
+     * @param driver WebDriver instance
+     * @param timeout Wait timeout
+     * @return Configured WebDriverWait
+     */
+    public static WebDriverWait forTimeout(WebDriver driver, Duration timeout) {
+        ConfigReader cfg = config();
+        BackoffSleeper sleeper = new BackoffSleeper(
+            Duration.ofMillis(cfg.getPollInitialMillis()), Duration.ofMillis(cfg.getPollMaxMillis()));
+        return new BackoffWait(driver, timeout, sleeper);
+    }
+
+    /**
+     * Get the configured timeout of a wait class
+     * @param waitClass Wait class
+     * @return Timeout
+     */
+    public static Duration timeout(WaitClass waitClass) {
+        ConfigReader cfg = config();
+        switch (waitClass) {
+            case NAVIGATION:
+                return Duration.ofSeconds(cfg.getNavigationWait());
+            case ABSENCE:
+                return Duration.ofSeconds(cfg.getAbsenceWait());
+            case ELEMENT:
+            default:
+                return Duration.ofSeconds(cfg.getExplicitWait());
+        }
+    }
+
+    /**
+     * Get the configured implicit wait
+     * @return Implicit wait
+     */
+    public static Duration implicitWait() {
+        return Duration.ofSeconds(config().getImplicitWait());
+    }
+
+    /**
+     * Apply the configured implicit wait to a new session
+     * @param driver WebDriver instance
+     * @return The same WebDriver, for use in driver suppliers
+     */
+    public static WebDriver applyImplicitWait(WebDriver driver) {
+        driver.manage().timeouts().implicitlyWait(implicitWait());
+        return driver;
+    }
+
+    private static synchronized ConfigReader config() {
+        if (config == null) {
+            config = new ConfigReader();
+        }
+        return config;
+    }
+
+    /**
+     * WebDriverWait that restarts its backoff on every until() call
+     */
+    private static class BackoffWait extends WebDriverWait {
+        private final BackoffSleeper sleeper;
+
+        BackoffWait(WebDriver driver, Duration timeout, BackoffSleeper sleeper) {
+            super(driver, timeout, sleeper.initialInterval, Clock.systemDefaultZone(), sleeper);
+            this.sleeper = sleeper;
+        }
+
+        @Override
+        public <V> V until(Function<? super WebDriver, V> isTrue) {
+            sleeper.reset();
+            return super.until(isTrue);
+        }
+    }
+
+    /**
+     * Sleeper that doubles the poll interval after each poll, up to a ceiling
+     */
+    private static class BackoffSleeper implements Sleeper {
+        private final Duration initialInterval;
+        private final Duration maxInterval;
+        private Duration nextInterval;
+
+        BackoffSleeper(Duration initialInterval, Duration maxInterval) {
+            this.initialInterval = initialInterval;
+            this.maxInterval = maxInterval.compareTo(initialInterval) < 0 ? initialInterval : maxInterval;
+            this.nextInterval = initialInterval;
+        }
+
+        void reset() {
+            nextInterval = initialInterval;
+        }
+
+        @Override
+        public void sleep(Duration ignoredPollingInterval) throws InterruptedException {
+            Duration interval = nextInterval;
+            Duration doubled = nextInterval.multipliedBy(2);
+            nextInterval = doubled.compareTo(maxInterval) > 0 ? maxInterval : doubled;
+            Thread.sleep(interval.toMillis());
+        }
+    }
+}
@@ -1,21 +1,55 @@
 package utils;
 
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.firefox.FirefoxProfile;
 import org.openqa.selenium.SessionNotCreatedException;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import java.io.File;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * WebDriver factory for creating and configuring browser instances
  */
 public class WebDriverFactory {
+    // Fixed viewport of the perf profile
+    private static final int PERF_WINDOW_WIDTH = 1280;
+    private static final int PERF_WINDOW_HEIGHT = 800;
+    
+    // Create sessions against one long-lived driver service instead of spawning a driver process per session
+    private static boolean useSharedDriverService = true;
+    
+    // When driver.get() returns; page objects wait on their own readiness contract afterwards
+    private static PageLoadStrategy pageLoadStrategy = PageLoadStrategy.NORMAL;
+    
+    // Session startup timings, per driver service mode
+    private static long sharedStartupMillis = 0;
+    private static int sharedStartupCount = 0;
+    private static long dedicatedStartupMillis = 0;
+    private static int dedicatedStartupCount = 0;
+    
+    /**
+     * Set the page load strategy of new sessions.
+     * The perf profile always uses EAGER unless NONE is requested.
+     * @param strategy Page load strategy
+     */
+    public static void setPageLoadStrategy(PageLoadStrategy strategy) {
+        pageLoadStrategy = strategy;
+    }
+    
+    /**
+     * Choose whether sessions share one driver service
+     * @param shared True to share one driver service per JVM
+     */
+    public static void setSharedDriverService(boolean shared) {
+        useSharedDriverService = shared;
+    }
     
     /**
      * Create WebDriver with fallback to Firefox if Chrome fails
@@ -25,7 +59,7 @@ public class WebDriverFactory {
         WebDriver driver;
         
         // Setup Chrome WebDriver
-        WebDriverManager.chromedriver().setup();
+        DriverBinaryResolver.resolveChromeDriver();
         
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--remote-allow-origins=*");
@@ -41,14 +75,15 @@ public class WebDriverFactory {
         prefs.put("download.prompt_for_download", false);
         prefs.put("profile.default_content_settings.popups", 0);
         options.setExperimentalOption("prefs", prefs);
+        options.setPageLoadStrategy(pageLoadStrategy);
         
         try {
             System.out.println("Initializing Chrome WebDriver with custom configurations");
-            driver = new ChromeDriver(options);
+            driver = newChromeDriver(options);
         } catch (SessionNotCreatedException e) {
             // If Chrome fails, try using Firefox
             System.out.println("Chrome initialization failed. Falling back to Firefox: " + e.getMessage());
-            WebDriverManager.firefoxdriver().setup();
+            DriverBinaryResolver.resolveGeckoDriver();
             
             FirefoxOptions firefoxOptions = new FirefoxOptions();
             FirefoxProfile profile = new FirefoxProfile();
@@ -61,8 +96,10 @@ public class WebDriverFactory {
                                  "application/pdf,application/x-pdf,application/octet-stream,text/csv");
             
             firefoxOptions.setProfile(profile);
+            firefoxOptions.setPageLoadStrategy(pageLoadStrategy);
+            firefoxOptions.setCapability("webSocketUrl", true); // BiDi, used for network tracking
             
-            driver = new FirefoxDriver(firefoxOptions);
+            driver = newFirefoxDriver(firefoxOptions);
             driver.manage().window().maximize();
         }
         
@@ -88,7 +125,7 @@ public class WebDriverFactory {
      * @return Configured Chrome WebDriver
      */
     public static WebDriver createChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+        DriverBinaryResolver.resolveChromeDriver();
         
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--remote-allow-origins=*");
@@ -104,10 +141,11 @@ public class WebDriverFactory {
         prefs.put("download.prompt_for_download", false);
         prefs.put("profile.default_content_settings.popups", 0);
         options.setExperimentalOption("prefs", prefs);
+        options.setPageLoadStrategy(pageLoadStrategy);
         
         System.out.println("Creating Chrome WebDriver with custom configurations");
         System.out.println("Downloads will be saved to: " + downloadPath);
-        return new ChromeDriver(options);
+        return newChromeDriver(options);
     }
     
     /**
@@ -115,7 +153,7 @@ public class WebDriverFactory {
      * @return Configured Firefox WebDriver
      */
     public static WebDriver createFirefoxDriver() {
-        WebDriverManager.firefoxdriver().setup();
+        DriverBinaryResolver.resolveGeckoDriver();
         
         FirefoxOptions options = new FirefoxOptions();
         FirefoxProfile profile = new FirefoxProfile();
@@ -129,10 +167,12 @@ public class WebDriverFactory {
                              "application/pdf,application/x-pdf,application/octet-stream,text/csv");
         
         options.setProfile(profile);
+        options.setPageLoadStrategy(pageLoadStrategy);
+        options.setCapability("webSocketUrl", true); // BiDi, used for network tracking
         
         System.out.println("Creating Firefox WebDriver with custom configurations");
         System.out.println("Downloads will be saved to: " + downloadPath);
-        WebDriver driver = new FirefoxDriver(options);
+        WebDriver driver = newFirefoxDriver(options);
         driver.manage().window().maximize();
         return driver;
     }
@@ -142,19 +182,109 @@ public class WebDriverFactory {
      * @return Headless Chrome WebDriver
      */
     public static WebDriver createHeadlessChromeDriver() {
-        WebDriverManager.chromedriver().setup();
+        DriverBinaryResolver.resolveChromeDriver();
         
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--headless");
         options.addArguments("--remote-allow-origins=*");
         options.addArguments("--window-size=1920,1080");
+        options.setPageLoadStrategy(pageLoadStrategy);
         
         System.out.println("Creating headless Chrome WebDriver");
-        return new ChromeDriver(options);
+        return newChromeDriver(options);
+    }
+    
+    /**
+     * Create a Chrome WebDriver with the lean "perf" profile:
+     * new headless mode, small fixed viewport, no images, web fonts, extensions,
+     * background networking or component updates, and EAGER page loads
+     * @return Perf-profile Chrome WebDriver
+     */
+    public static WebDriver createPerfChromeDriver() {
+        DriverBinaryResolver.resolveChromeDriver();
+        
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=" + PERF_WINDOW_WIDTH + "," + PERF_WINDOW_HEIGHT);
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--disable-background-networking");
+        options.addArguments("--disable-component-update");
+        options.addArguments("--disable-remote-fonts");
+        options.addArguments("--blink-settings=imagesEnabled=false");
+        options.addArguments("--disable-default-apps");
+        options.addArguments("--disable-sync");
+        options.addArguments("--no-first-run");
+        
+        String downloadPath = System.getProperty("user.dir") + File.separator + "downloads";
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("download.default_directory", downloadPath);
+        prefs.put("download.prompt_for_download", false);
+        prefs.put("profile.managed_default_content_settings.images", 2);
+        options.setExperimentalOption("prefs", prefs);
+        options.setPageLoadStrategy(perfPageLoadStrategy());
+        
+        System.out.println("Creating Chrome WebDriver with perf profile");
+        return newChromeDriver(options);
+    }
+    
+    /**
+     * Create a Firefox WebDriver with the lean "perf" profile
+     * @return Perf-profile Firefox WebDriver
+     */
+    public static WebDriver createPerfFirefoxDriver() {
+        DriverBinaryResolver.resolveGeckoDriver();
+        
+        FirefoxOptions options = new FirefoxOptions();
+        options.addArguments("-headless");
+        options.addArguments("--width=" + PERF_WINDOW_WIDTH);
+        options.addArguments("--height=" + PERF_WINDOW_HEIGHT);
+        
+        FirefoxProfile profile = new FirefoxProfile();
+        String downloadPath = System.getProperty("user.dir") + File.separator + "downloads";
+        profile.setPreference("browser.download.folderList", 2);
+        profile.setPreference("browser.download.dir", downloadPath);
+        profile.setPreference("browser.download.manager.showWhenStarting", false);
+        profile.setPreference("browser.helperApps.neverAsk.saveToDisk",
+                             "application/pdf,application/x-pdf,application/octet-stream,text/csv");
+        
+        // No images, web fonts, extension or app updates, prefetching or telemetry
+        profile.setPreference("permissions.default.image", 2);
+        profile.setPreference("gfx.downloadable_fonts.enabled", false);
+        profile.setPreference("extensions.update.enabled", false);
+        profile.setPreference("app.update.auto", false);
+        profile.setPreference("network.prefetch-next", false);
+        profile.setPreference("network.dns.disablePrefetch", true);
+        profile.setPreference("browser.safebrowsing.malware.enabled", false);
+        profile.setPreference("browser.safebrowsing.phishing.enabled", false);
+        profile.setPreference("datareporting.policy.dataSubmissionEnabled", false);
+        profile.setPreference("toolkit.telemetry.enabled", false);
+        
+        options.setProfile(profile);
+        options.setPageLoadStrategy(perfPageLoadStrategy());
+        options.setCapability("webSocketUrl", true);
+        
+        System.out.println("Creating Firefox WebDriver with perf profile");
+        return newFirefoxDriver(options);
     }
     
     /**
-     * Create WebDriver from configuration
+     * Create a perf-profile WebDriver for the specified browser
+     * @param browserName Browser name ("chrome" or "firefox")
+     * @return Perf-profile WebDriver
+     */
+    public static WebDriver createPerfDriver(String browserName) {
+        if (browserName.equalsIgnoreCase("firefox")) {
+            return createPerfFirefoxDriver();
+        } else {
+            return createPerfChromeDriver();
+        }
+    }
+    
+    /**
+     * Create WebDriver from configuration: the perf profile, Firefox, headless Chrome,
+     * or the default driver with Firefox fallback
      * @param config Configuration reader instance
      * @return Configured WebDriver based on configuration
      */
@@ -162,12 +292,71 @@ public class WebDriverFactory {
         String browser = config.getBrowser();
         System.out.println("Creating WebDriver for browser: " + browser);
         
-        if (browser.equalsIgnoreCase("firefox")) {
+        if (config.isPerfProfile()) {
+            return createPerfDriver(browser);
+        } else if (browser.equalsIgnoreCase("firefox")) {
             return createFirefoxDriver();
         } else if (browser.equalsIgnoreCase("headless")) {
             return createHeadlessChromeDriver();
         } else {
-            return createChromeDriver();
+            // Default profile: Chrome, falling back to Firefox
+            return createDriver();
         }
     }
+    
+    /**
+     * Get session startup timings for the shared and dedicated driver service modes
+     * @return Startup time comparison
+     */
+    public static synchronized String getStartupStats() {
+        return "shared service: " + formatStartup(sharedStartupMillis, sharedStartupCount)
+             + ", dedicated service: " + formatStartup(dedicatedStartupMillis, dedicatedStartupCount);
+    }
+    
+    /**
+     * Start a Chrome session, against the shared chromedriver service when enabled
+     */
+    private static WebDriver newChromeDriver(ChromeOptions options) {
+        boolean shared = useSharedDriverService;
+        long start = System.nanoTime();
+        WebDriver driver = shared
+            ? new ChromeDriver(SharedDriverServices.chrome(), options)
+            : new ChromeDriver(options);
+        recordStartup(shared, start);
+        return driver;
+    }
+    
+    /**
+     * Start a Firefox session, against the shared geckodriver service when it is free
+     */
+    private static WebDriver newFirefoxDriver(FirefoxOptions options) {
+        GeckoDriverService service = useSharedDriverService ? SharedDriverServices.leaseGecko() : null;
+        long start = System.nanoTime();
+        WebDriver driver = service != null
+            ? new FirefoxDriver(service, options)
+            : new FirefoxDriver(options);
+        recordStartup(service != null, start);
+        return driver;
+    }
+    
+    private static PageLoadStrategy perfPageLoadStrategy() {
+        return pageLoadStrategy == PageLoadStrategy.NONE ? PageLoadStrategy.NONE : PageLoadStrategy.EAGER;
+    }
+    
+    private static synchronized void recordStartup(boolean shared, long startNanos) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        if (shared) {
+            sharedStartupMillis += elapsedMillis;
+            sharedStartupCount++;
+        } else {
+            dedicatedStartupMillis += elapsedMillis;
+            dedicatedStartupCount++;
+        }
+        System.out.println("Session started in " + elapsedMillis + " ms ("
+                           + (shared ? "shared" : "dedicated") + " driver service)");
+    }
+    
+    private static String formatStartup(long totalMillis, int count) {
+        return count == 0 ? "no sessions" : count + " sessions, avg " + (totalMillis / count) + " ms";
+    }
 }
\ No newline at end of file